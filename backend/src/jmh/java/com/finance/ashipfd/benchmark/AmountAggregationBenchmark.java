@@ -0,0 +1,94 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * BigDecimal sums over transaction amounts (summaries, budget status, rollup deltas)
+ *
+ * - loop / streamReduce: plain total, the two ways the code writes it
+ * - byCategory: EnumMap + merge(BigDecimal::add), what getBudgetStatus does
+ * - groupingBy: the Collectors version of the same thing
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="AmountAggregationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AmountAggregationBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private List<Transaction> transactions;
+
+    @Setup
+    public void setUp() {
+        TransactionCategory[] categories = TransactionCategory.values();
+        transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Transaction t = new Transaction();
+            t.setAmount(BigDecimal.valueOf(100 + (i * 37L) % 100_000, 2));
+            t.setType(TransactionType.EXPENSE);
+            t.setCategory(categories[i % categories.length]);
+            t.setTransactionDate(LocalDate.of(2026, 1, 1 + i % 28));
+            transactions.add(t);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Transaction t : transactions) {
+            total = total.add(t.getAmount());
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return transactions.stream()
+                .map(Transaction::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public Map<TransactionCategory, BigDecimal> byCategory() {
+        Map<TransactionCategory, BigDecimal> totals = new EnumMap<>(TransactionCategory.class);
+        for (Transaction t : transactions) {
+            totals.merge(t.getCategory(), t.getAmount(), BigDecimal::add);
+        }
+        return totals;
+    }
+
+    @Benchmark
+    public Map<TransactionCategory, BigDecimal> groupingBy() {
+        return transactions.stream()
+                .collect(Collectors.groupingBy(Transaction::getCategory,
+                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.model.Budget;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.service.BudgetService;
+import com.finance.ashipfd.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping, once per row on every list endpoint
+ *
+ * Services are built with null dependencies - toDTO doesn't touch them
+ * (GENERAL budgets only, CATEGORY_SUM would query the db)
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="DtoMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private TransactionService transactionService;
+    private BudgetService budgetService;
+    private Transaction transaction;
+    private Budget budget;
+
+    @Setup
+    public void setUp() {
+        transactionService = new TransactionService(null, null, null, null, null, null, null);
+        budgetService = new BudgetService(null, null, null, null, null, null, null);
+
+        User user = new User();
+        user.setId(42L);
+
+        transaction = new Transaction(1L, user, new BigDecimal("45.50"), TransactionType.EXPENSE,
+                TransactionCategory.GROCERIES, "Trader Joe's", LocalDate.of(2026, 1, 15), LocalDateTime.now(),
+                LocalDateTime.now());
+
+        budget = new Budget();
+        budget.setId(1L);
+        budget.setUser(user);
+        budget.setMonth(1);
+        budget.setYear(2026);
+        budget.setBudgetType(BudgetType.GENERAL);
+        budget.setAmount(new BigDecimal("2500.00"));
+        budget.setCreatedAt(LocalDateTime.now());
+        budget.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public TransactionResponse transactionToDto() {
+        return transactionService.toDTO(transaction);
+    }
+
+    @Benchmark
+    public BudgetResponse budgetToDto() {
+        return budgetService.toDTO(budget);
+    }
+}
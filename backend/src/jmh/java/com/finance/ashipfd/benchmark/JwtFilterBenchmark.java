@@ -0,0 +1,85 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.security.JwtAuthenticationFilter;
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.security.VerifiedTokenCache;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter end to end (header -> SecurityContext -> chain)
+ *
+ * - cachedToken: same bearer token every time, VerifiedTokenCache hit
+ * - uncachedToken: cache max-ttl 0, so every request parses + verifies the JWT
+ * - noHeader: anonymous request (e.g. /api/auth/login), filter just passes through
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtFilterBenchmark"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter nonCachingFilter;
+    private MockHttpServletRequest authenticated;
+    private MockHttpServletRequest anonymous;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil("benchmark-secret-key-that-is-long-enough-for-hs256", 3_600_000);
+        cachingFilter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(jwtUtil, 10_000, Duration.ofMinutes(5), 1_000));
+        nonCachingFilter = new JwtAuthenticationFilter(
+                new VerifiedTokenCache(jwtUtil, 10_000, Duration.ZERO, 1_000));
+
+        authenticated = new MockHttpServletRequest("GET", "/api/transactions");
+        authenticated.addHeader("Authorization", "Bearer " + jwtUtil.generateToken("bench@test.com", 42L));
+        anonymous = new MockHttpServletRequest("POST", "/api/auth/login");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void cachedToken(Blackhole bh) throws Exception {
+        run(cachingFilter, authenticated, bh);
+    }
+
+    @Benchmark
+    public void uncachedToken(Blackhole bh) throws Exception {
+        run(nonCachingFilter, authenticated, bh);
+    }
+
+    @Benchmark
+    public void noHeader(Blackhole bh) throws Exception {
+        run(cachingFilter, anonymous, bh);
+    }
+
+    private void run(JwtAuthenticationFilter filter, MockHttpServletRequest req, Blackhole bh) throws Exception {
+        FilterChain chain = (request, res) -> bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        try {
+            filter.doFilter(req, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
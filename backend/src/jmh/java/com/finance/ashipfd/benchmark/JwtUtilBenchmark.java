@@ -0,0 +1,52 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.security.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil on its own
+ *
+ * - generateToken: every login/register (HS256 sign + JSON claims)
+ * - parse: every request that misses VerifiedTokenCache
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtUtilBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil("benchmark-secret-key-that-is-long-enough-for-hs256", 3_600_000);
+        token = jwtUtil.generateToken("bench@test.com", 42L);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("bench@test.com", 42L);
+    }
+
+    @Benchmark
+    public VerifiedToken parse() {
+        return jwtUtil.parse(token);
+    }
+}
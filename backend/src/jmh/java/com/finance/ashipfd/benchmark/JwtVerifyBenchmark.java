@@ -0,0 +1,83 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.security.VerifiedToken;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of verifying the bearer token in JwtAuthenticationFilter
+ *
+ * - threeParses: what the filter used to do - validateToken + getEmailFromToken
+ *   + getUserIdFromToken, each rebuilding the key + parser and checking the signature
+ * - singleParse: JwtUtil.parse with the prebuilt key + parser
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtVerifyBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000);
+        token = jwtUtil.generateToken("bench@test.com", 42L);
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole bh) {
+        if (legacyValidate(token)) {
+            bh.consume(legacyParse(token).getSubject());
+            bh.consume(legacyParse(token).get("userId", Long.class));
+        }
+    }
+
+    @Benchmark
+    public VerifiedToken singleParse() {
+        return jwtUtil.parse(token);
+    }
+
+    /**
+     * Old JwtUtil code path: new key + new parser on every call
+     */
+    private static io.jsonwebtoken.Claims legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    private static boolean legacyValidate(String token) {
+        try {
+            legacyParse(token);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.AshiPfdApplication;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.service.TransactionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reading a user's whole transaction list from H2 (what GET /api/transactions does)
+ *
+ * - entities: the old path - load managed Transactions in a read-write transaction,
+ *   then toDTO each one. Hibernate keeps a snapshot per row and dirty-checks them at commit
+ * - projection: TransactionService.getAllUserTransactions - DTOs built in the query,
+ *   readOnly transaction, nothing in the persistence context
+ *
+ * Boots the app without a web server on the test H2 config and seeds the rows once
+ * Add -prof gc to see allocation per call (gc.alloc.rate.norm, bytes/op)
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="ListReadBenchmark -prof gc"
+ *
+ * Last run (JDK 21, 1 shared core, so the error bars are wide):
+ *   rows  path        us/op   B/op
+ *   100   entities     1209    141,836
+ *   100   projection    341     65,897
+ *   5000  entities    23193  6,305,107
+ *   5000  projection   6437  2,670,135
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListReadBenchmark {
+
+    @Param({"100", "5000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate readWrite;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AshiPfdApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        readWrite = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update(
+                "INSERT INTO users (email, password, created_at) VALUES ('bench@test.com', 'x', CURRENT_TIMESTAMP)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'bench@test.com'", Long.class);
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDateTime created = start.plusMinutes(i);
+            batch.add(new Object[]{userId, "12.34", "EXPENSE", "GROCERIES", "row " + i,
+                    Date.valueOf(created.toLocalDate()), Timestamp.valueOf(created)});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions (id, user_id, amount, type, category, description, transaction_date, created_at)
+                VALUES (NEXT VALUE FOR transactions_id_seq, ?, CAST(? AS DECIMAL(19,2)), ?, ?, ?, ?, ?)
+                """, batch);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> entities() {
+        return readWrite.execute(status -> transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(transactionService::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<TransactionResponse> projection() {
+        return transactionService.getAllUserTransactions(userId);
+    }
+}
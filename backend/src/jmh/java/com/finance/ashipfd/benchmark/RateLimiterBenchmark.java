@@ -0,0 +1,81 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.config.RateLimitProperties;
+import com.finance.ashipfd.security.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead RateLimitFilter adds (route lookup + bucket update)
+ *
+ * - resolveRoute: PathPattern match against the configured routes
+ * - hotKey: every thread hammering one user's bucket (worst case for CAS contention)
+ * - manyUsers: random user out of 1M, bucket created on first touch (Caffeine churn)
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="RateLimiterBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    private static final int USERS = 1_000_000;
+
+    private RateLimiter limiter;
+    private RateLimiter.Route route;
+
+    @Setup
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(
+                route("auth", "/api/auth/**", 20),
+                route("imports", "/api/imports/**", 10),
+                route("transactions", "/api/transactions/**", 300),
+                route("default", "/**", 600)
+        ));
+        limiter = new RateLimiter(properties);
+        route = limiter.resolve("/api/transactions/42");
+    }
+
+    private static RateLimitProperties.Route route(String name, String pattern, int limit) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName(name);
+        route.setPattern(pattern);
+        route.setLimit(limit);
+        route.setPeriod(Duration.ofMinutes(1));
+        return route;
+    }
+
+    @Benchmark
+    public RateLimiter.Route resolveRoute() {
+        return limiter.resolve("/api/transactions/42");
+    }
+
+    @Benchmark
+    public RateLimiter.Decision hotKey() {
+        return limiter.tryAcquire(route, "u:1");
+    }
+
+    @Benchmark
+    public RateLimiter.Decision manyUsers() {
+        return limiter.tryAcquire(route, "u:" + ThreadLocalRandom.current().nextInt(USERS));
+    }
+}
@@ -0,0 +1,75 @@
+package com.finance.ashipfd.benchmark;
+
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of List<TransactionResponse> (GET /api/transactions, export)
+ *
+ * - toStream: written straight to the response stream, like Spring MVC does
+ * - toBytes: whole body buffered in memory first
+ *
+ * Run: mvn -Pjmh test-compile exec:exec -Djmh.args="TransactionJsonBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionJsonBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    private int rows;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private List<TransactionResponse> transactions;
+
+    @Setup
+    public void setUp() {
+        TransactionCategory[] categories = TransactionCategory.values();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 12, 0);
+        transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            transactions.add(new TransactionResponse(
+                    (long) i, 42L, BigDecimal.valueOf(1_000 + i, 2),
+                    i % 5 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                    categories[i % categories.length],
+                    "Transaction " + i,
+                    LocalDate.of(2026, 1 + i % 12, 1 + i % 28),
+                    createdAt.plusSeconds(i)));
+        }
+    }
+
+    @Benchmark
+    public void toStream() {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), transactions);
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+}
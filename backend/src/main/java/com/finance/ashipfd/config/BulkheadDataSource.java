@@ -0,0 +1,146 @@
+package com.finance.ashipfd.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BulkheadDataSource
+ * Wraps the Hikari pool so at most `permits` threads hold or wait on a connection
+ *
+ * WHY:
+ * With virtual threads there's no Tomcat pool capping concurrency anymore,
+ * so 5000 requests = 5000 threads all calling getConnection() on a pool of 10.
+ * Hikari copes, but every one of them sits in its handoff queue for up to
+ * connection-timeout (30s) and a spike turns into a wall of timeouts.
+ *
+ * HOW:
+ * - getConnection() takes a permit first (fair semaphore = FIFO, parks virtual
+ *   threads cheaply), the permit goes back when the connection is closed
+ * - permits = pool size, so anyone past the semaphore gets a connection right away
+ * - more than maxWaiting already queued, or no permit within maxWait -> fail fast
+ *   (GlobalExceptionHandler turns that into a 503)
+ *
+ * Spring's transaction managers / JdbcTemplate all close the connection at the
+ * end of the transaction, so one transaction = one permit
+ */
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxPermits;
+    private final long maxWaitNanos;
+    private final int maxWaiting;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public BulkheadDataSource(DataSource target, int permits, Duration maxWait, int maxWaiting) {
+        super(target);
+        if (permits <= 0) {
+            throw new IllegalArgumentException("db.bulkhead permits must be > 0");
+        }
+        this.permits = new Semaphore(permits, true);
+        this.maxPermits = permits;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.maxWaiting = maxWaiting;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            return;
+        }
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException("Database busy (" + maxWaiting + " requests already waiting)");
+        }
+        try {
+            if (!permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejected.incrementAndGet();
+                throw new SQLTransientConnectionException("Database busy (no connection within "
+                        + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + "ms)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+        }
+    }
+
+    /**
+     * Proxy that hands the permit back on the first close()
+     */
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    public int getMaxPermits() {
+        return maxPermits;
+    }
+
+    /**
+     * Connections currently checked out through the bulkhead
+     */
+    public int getInUse() {
+        return maxPermits - permits.availablePermits();
+    }
+
+    /**
+     * Threads parked waiting for a permit (estimate)
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+}
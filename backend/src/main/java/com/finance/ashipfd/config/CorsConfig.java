@@ -41,6 +41,9 @@ public class CorsConfig {
         // Allow all headers (including auth for JWT)
         config.setAllowedHeaders(Arrays.asList("*"));
 
+        // Let the frontend read the ETag for If-None-Match (see UserDataVersions)
+        config.setExposedHeaders(Arrays.asList("ETag"));
+
         // (cookies, auth headers)
         config.setAllowCredentials(true);
 
@@ -0,0 +1,90 @@
+package com.finance.ashipfd.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Database bulkhead (see BulkheadDataSource)
+ *
+ * On when db.bulkhead.enabled=true - application.properties ties that to
+ * spring.threads.virtual.enabled, since the Tomcat thread pool already caps
+ * concurrency in platform-thread mode
+ *
+ * Wraps the DataSource bean itself so JPA, the transaction manager and
+ * JdbcTemplate (rollups) all go through the same permits
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfig {
+
+    /**
+     * Runs before QueryBudgetConfig's counting wrapper, so the bulkhead sits
+     * right on the pool and the counting DataSource wraps it from outside
+     */
+    static final int POST_PROCESSOR_ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    /**
+     * static -> registered before the DataSource is created, without pulling this config in early
+     *
+     * @param permits 0 = Hikari maximum-pool-size
+     */
+    @Bean
+    static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Value("${db.bulkhead.permits:0}") int permits,
+            @Value("${db.bulkhead.max-wait:5s}") Duration maxWait,
+            @Value("${db.bulkhead.max-waiting:1000}") int maxWaiting) {
+        return new BulkheadPostProcessor(permits, maxWait, maxWaiting);
+    }
+
+    private static final class BulkheadPostProcessor implements BeanPostProcessor, Ordered {
+        private final int permits;
+        private final Duration maxWait;
+        private final int maxWaiting;
+
+        BulkheadPostProcessor(int permits, Duration maxWait, int maxWaiting) {
+            this.permits = permits;
+            this.maxWait = maxWait;
+            this.maxWaiting = maxWaiting;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof BulkheadDataSource) {
+                return bean;
+            }
+            int size = permits > 0 ? permits : hikariPoolSize(dataSource);
+            if (size <= 0) {
+                throw new IllegalStateException("db.bulkhead.permits must be set when the DataSource isn't Hikari");
+            }
+            return new BulkheadDataSource(dataSource, size, maxWait, maxWaiting);
+        }
+
+        @Override
+        public int getOrder() {
+            return POST_PROCESSOR_ORDER;
+        }
+
+        /**
+         * Looks through other wrappers too, in case something wrapped the pool first
+         */
+        private static int hikariPoolSize(DataSource dataSource) {
+            try {
+                if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                    return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                }
+            } catch (SQLException e) {
+                // not unwrappable -> same as not Hikari
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.finance.ashipfd.config;
+
+import com.finance.ashipfd.security.PasswordHasher;
+import com.finance.ashipfd.security.RateLimiter;
+import com.finance.ashipfd.security.VerifiedTokenCache;
+import com.finance.ashipfd.service.BudgetCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * App-specific meters on top of what Spring Boot already publishes
+ * (http.server.requests, hikaricp.*, hibernate.*, jvm.*)
+ *
+ * All gauges / function counters - they read the stats our components
+ * already keep, only when Prometheus scrapes. Nothing on the request path.
+ *
+ * Off unless metrics.enabled=true (see application.properties)
+ *
+ * USEFUL QUERIES:
+ * - p99 per endpoint:  histogram_quantile(0.99, sum by (le, uri) (rate(http_server_requests_seconds_bucket[5m])))
+ * - queries / request: rate(hibernate_query_executions_total[5m]) / rate(http_server_requests_seconds_count[5m])
+ * - pool utilization:  hikaricp_connections_active / hikaricp_connections_max
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.enabled", havingValue = "true")
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder budgetCacheMetrics(BudgetCache budgetCache) {
+        return registry -> {
+            cacheMeters(registry, "budget", budgetCache::budgetStats);
+            cacheMeters(registry, "categoryBudget", budgetCache::categoryBudgetStats);
+        };
+    }
+
+    private static void cacheMeters(MeterRegistry registry, String cache, Supplier<BudgetCache.Stats> stats) {
+        counter(registry, "app.cache.requests", "Budget cache lookups", stats, s -> s.get().hits(),
+                "cache", cache, "result", "hit");
+        counter(registry, "app.cache.requests", "Budget cache lookups", stats, s -> s.get().misses(),
+                "cache", cache, "result", "miss");
+        counter(registry, "app.cache.evictions", "Entries dropped for size/ttl", stats, s -> s.get().evictions(),
+                "cache", cache);
+        counter(registry, "app.cache.invalidations", "Entries dropped after a write", stats, s -> s.get().invalidations(),
+                "cache", cache);
+    }
+
+    @Bean
+    public MeterBinder tokenCacheMetrics(VerifiedTokenCache tokenCache) {
+        return registry -> {
+            counter(registry, "app.jwt.verifications", "Bearer tokens checked", tokenCache, c -> c.stats().hits(),
+                    "result", "cached");
+            counter(registry, "app.jwt.verifications", "Bearer tokens checked", tokenCache, c -> c.stats().misses(),
+                    "result", "parsed");
+            counter(registry, "app.jwt.verifications", "Bearer tokens checked", tokenCache, c -> c.stats().revokedRejections(),
+                    "result", "revoked");
+            Gauge.builder("app.jwt.cache.size", tokenCache, c -> c.stats().size())
+                    .description("Verified tokens cached")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("app.auth.hashing.pending", passwordHasher, PasswordHasher::getPending)
+                    .description("BCrypt jobs running or queued")
+                    .register(registry);
+            counter(registry, "app.auth.hashing.rejected", "Logins shed with 503", passwordHasher,
+                    PasswordHasher::getRejectedCount);
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiter rateLimiter) {
+        return registry -> {
+            Gauge.builder("app.ratelimit.buckets", rateLimiter, RateLimiter::bucketCount)
+                    .description("Token buckets held in memory")
+                    .register(registry);
+            counter(registry, "app.ratelimit.rejected", "Requests answered with 429", rateLimiter,
+                    RateLimiter::getRejectedCount);
+        };
+    }
+
+    /**
+     * Only there in virtual-thread mode (db.bulkhead.enabled)
+     * unwrap() walks through QueryCountingDataSource if that's the outer wrapper
+     */
+    @Bean
+    public MeterBinder databaseBulkheadMetrics(DataSource dataSource) {
+        return registry -> {
+            BulkheadDataSource bulkhead;
+            try {
+                if (!dataSource.isWrapperFor(BulkheadDataSource.class)) {
+                    return;
+                }
+                bulkhead = dataSource.unwrap(BulkheadDataSource.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("app.db.bulkhead.in-use", bulkhead, BulkheadDataSource::getInUse)
+                    .description("Connections checked out through the bulkhead")
+                    .register(registry);
+            Gauge.builder("app.db.bulkhead.waiting", bulkhead, BulkheadDataSource::getWaiting)
+                    .description("Threads waiting for a permit")
+                    .register(registry);
+            Gauge.builder("app.db.bulkhead.max", bulkhead, BulkheadDataSource::getMaxPermits)
+                    .register(registry);
+            counter(registry, "app.db.bulkhead.rejected", "getConnection calls failed fast (503)", bulkhead,
+                    BulkheadDataSource::getRejectedCount);
+        };
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, String description,
+                                    T source, ToDoubleFunction<T> value, String... tags) {
+        FunctionCounter.builder(name, source, value)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+}
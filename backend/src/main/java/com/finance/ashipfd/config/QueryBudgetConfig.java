@@ -0,0 +1,61 @@
+package com.finance.ashipfd.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Query counting + per-request query budget
+ * (see QueryCountingDataSource, QueryCounter, QueryBudgetFilter)
+ *
+ * On unless db.query-budget.enabled=false - the tests rely on the counting
+ * DataSource to assert exact statement counts per service call
+ */
+@Configuration
+@ConditionalOnProperty(name = "db.query-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryBudgetConfig {
+
+    /**
+     * static -> registered before the DataSource is created (same as the bulkhead one)
+     * Ordered after the bulkhead post-processor, so the bulkhead always sees the
+     * raw Hikari pool (to size itself) and this wraps outside it.
+     * MetricsConfig unwraps through this to find the bulkhead
+     */
+    @Bean
+    static BeanPostProcessor queryCountingPostProcessor() {
+        return new QueryCountingPostProcessor();
+    }
+
+    private static final class QueryCountingPostProcessor implements BeanPostProcessor, Ordered {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof QueryCountingDataSource) {
+                return bean;
+            }
+            return new QueryCountingDataSource(dataSource);
+        }
+
+        @Override
+        public int getOrder() {
+            return DatabaseBulkheadConfig.POST_PROCESSOR_ORDER + 10;
+        }
+    }
+
+    /**
+     * Runs ahead of Spring Security so the JWT/revocation lookups count too
+     */
+    @Bean
+    public FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(
+            @Value("${db.query-budget.max-statements:20}") int maxStatements) {
+        FilterRegistrationBean<QueryBudgetFilter> registration =
+                new FilterRegistrationBean<>(new QueryBudgetFilter(maxStatements));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
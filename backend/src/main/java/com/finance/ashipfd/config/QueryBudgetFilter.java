@@ -0,0 +1,68 @@
+package com.finance.ashipfd.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Query budget filter
+ * Counts the SQL statements one request runs and logs a WARN when it goes over
+ * db.query-budget.max-statements
+ *
+ * Catches N+1s that slip past the tests: a list endpoint that lazy-loads
+ * per row shows up here as "GET /api/... ran 101 statements"
+ *
+ * Only the request thread is counted - async work (login hashing, imports)
+ * runs elsewhere and isn't part of the request's budget
+ *
+ * EXAMPLE LOG:
+ * WARN  GET /api/transactions ran 41 statements (select=41), budget is 20:
+ *       [select t1_0.id,... from transactions t1_0 where ..., select u1_0.id,... from users u1_0 where u1_0.id=?, ...]
+ */
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    /**
+     * How many statements to print in the warning
+     */
+    private static final int SQL_IN_LOG = 5;
+
+    private final int maxStatements;
+
+    public QueryBudgetFilter(int maxStatements) {
+        if (maxStatements <= 0) {
+            throw new IllegalArgumentException("db.query-budget.max-statements must be > 0");
+        }
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest req,
+            HttpServletResponse res,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            try {
+                filterChain.doFilter(req, res);
+            } finally {
+                if (scope.getTotal() > maxStatements) {
+                    log.warn("{} {} ran {}, budget is {}: {}", req.getMethod(), req.getRequestURI(),
+                            scope.summary(), maxStatements,
+                            scope.getSql().subList(0, Math.min(SQL_IN_LOG, scope.getSql().size())));
+                }
+            }
+        }
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+}
@@ -0,0 +1,182 @@
+package com.finance.ashipfd.config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * QueryCounter
+ * Per-thread SQL statement counts, fed by QueryCountingDataSource
+ *
+ * Nothing is counted unless a scope is open on the current thread:
+ * - QueryBudgetFilter opens one per HTTP request
+ * - tests open one around a single service call (see QueryCountAssertions)
+ * Scopes nest, a statement counts towards every open scope on the thread
+ *
+ * One statement = one round trip to the db, so a JDBC batch of 50 inserts counts once
+ *
+ * EXAMPLE:
+ * try (QueryCounter.Scope scope = QueryCounter.open()) {
+ *     transactionService.getTransactionById(id, userId);
+ *     scope.getTotal();   // 1
+ *     scope.getSql();     // ["select t1_0.id,... from transactions t1_0 where t1_0.id=?"]
+ * }
+ */
+public final class QueryCounter {
+
+    /**
+     * Keep only the first few statements' SQL - enough to spot an N+1
+     */
+    static final int MAX_SQL_KEPT = 50;
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * SEQUENCE = id fetches (select nextval / next value for), split out since the
+     * pooled generator only runs one per 50 inserts and they'd make exact counts flaky
+     */
+    public enum Kind { SELECT, INSERT, UPDATE, DELETE, SEQUENCE, OTHER }
+
+    private QueryCounter() {
+    }
+
+    /**
+     * Start counting on this thread, close() the scope to stop
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Cheap no-op when nothing is counting (the normal case outside requests)
+     */
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        Kind kind = kindOf(sql);
+        for (; scope != null; scope = scope.parent) {
+            scope.add(kind, sql);
+        }
+    }
+
+    /**
+     * First keyword decides, leading comments/whitespace are skipped
+     * (WITH ... SELECT counts as a select, MERGE as other)
+     */
+    static Kind kindOf(String sql) {
+        if (sql == null) {
+            return Kind.OTHER;
+        }
+        int i = 0;
+        int length = sql.length();
+        while (i < length) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c) || c == '(') {
+                i++;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (sql.startsWith("--", i)) {
+                int end = sql.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else {
+                break;
+            }
+        }
+        int end = i;
+        while (end < length && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        return switch (sql.substring(i, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> isSequenceFetch(sql) ? Kind.SEQUENCE : Kind.SELECT;
+            case "insert" -> Kind.INSERT;
+            case "update" -> Kind.UPDATE;
+            case "delete" -> Kind.DELETE;
+            default -> Kind.OTHER;
+        };
+    }
+
+    private static boolean isSequenceFetch(String sql) {
+        String lower = sql.toLowerCase(Locale.ROOT);
+        return lower.contains("nextval(") || lower.contains("next value for");
+    }
+
+    /**
+     * Counts for one open scope (only ever touched by the thread that opened it)
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final int[] counts = new int[Kind.values().length];
+        private final List<String> sql = new ArrayList<>();
+        private int total;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(Kind kind, String statement) {
+            if (closed) {
+                return;
+            }
+            total++;
+            counts[kind.ordinal()]++;
+            if (sql.size() < MAX_SQL_KEPT) {
+                sql.add(statement);
+            }
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int get(Kind kind) {
+            return counts[kind.ordinal()];
+        }
+
+        /**
+         * SQL of the first MAX_SQL_KEPT statements, in order
+         */
+        public List<String> getSql() {
+            return Collections.unmodifiableList(sql);
+        }
+
+        /**
+         * e.g. "3 statements (select=2 insert=1)"
+         */
+        public String summary() {
+            StringBuilder sb = new StringBuilder().append(total).append(total == 1 ? " statement" : " statements");
+            String sep = " (";
+            for (Kind kind : Kind.values()) {
+                if (counts[kind.ordinal()] > 0) {
+                    sb.append(sep).append(kind.name().toLowerCase(Locale.ROOT)).append('=').append(counts[kind.ordinal()]);
+                    sep = " ";
+                }
+            }
+            return total == 0 ? sb.toString() : sb.append(')').toString();
+        }
+
+        /**
+         * Stop counting, the parent scope (if any) becomes current again
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.finance.ashipfd.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * QueryCountingDataSource
+ * Wraps the pool so every executed statement is reported to QueryCounter
+ *
+ * Sits under JPA, JdbcTemplate (rollups) and the transaction manager alike,
+ * so the count is what actually goes over the wire - lazy loads, flushes at
+ * commit and native upserts included
+ *
+ * HOW:
+ * - Connection proxy: createStatement / prepareStatement / prepareCall hand back
+ *   a Statement proxy that remembers the SQL it was prepared with
+ * - Statement proxy: execute* / executeBatch -> QueryCounter.record(sql)
+ * - Everything else goes straight to the real object
+ *
+ * Outside a QueryCounter scope the only cost is one ThreadLocal read per execute
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private static Connection counting(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && isStatementFactory(method)) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                        return counting(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private static boolean isStatementFactory(Method method) {
+        String name = method.getName();
+        return name.equals("createStatement") || name.equals("prepareStatement") || name.equals("prepareCall");
+    }
+
+    /**
+     * @param type Statement, PreparedStatement or CallableStatement (whatever the factory method returns)
+     * @param preparedSql SQL given at prepare time, null for a plain Statement
+     */
+    private static Statement counting(Statement statement, Class<?> type, String preparedSql) {
+        Class<?> iface = type == CallableStatement.class || type == PreparedStatement.class ? type : Statement.class;
+        String[] batchSql = {null};
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{iface},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("addBatch") && args != null && args.length == 1) {
+                        batchSql[0] = (String) args[0];
+                    } else if (name.startsWith("execute")) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String s ? s
+                                : name.contains("Batch") && batchSql[0] != null ? batchSql[0]
+                                : preparedSql;
+                        QueryCounter.record(sql);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.finance.ashipfd.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RateLimitProperties
+ * Binds rate-limit.* from application.properties (see RateLimiter)
+ *
+ * rate-limit.routes[0].name=auth
+ * rate-limit.routes[0].pattern=/api/auth/**
+ * rate-limit.routes[0].key=IP
+ * rate-limit.routes[0].limit=20
+ * rate-limit.routes[0].period=1m
+ *
+ * Routes are checked in order, first matching pattern wins
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Hard cap on buckets kept in memory (one per route + user/IP)
+     */
+    private long maxBuckets = 1_000_000;
+
+    /**
+     * Buckets untouched this long get dropped
+     * Must be >= the longest route period (by then the bucket is full again anyway)
+     */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private List<Route> routes = new ArrayList<>();
+
+    public enum KeyType {
+        /**
+         * Authenticated userId (falls back to IP if there's no auth)
+         */
+        USER,
+        /**
+         * Client IP - for routes hit before login
+         */
+        IP
+    }
+
+    @Data
+    public static class Route {
+        private String name;
+        private String pattern;
+        private KeyType key = KeyType.USER;
+
+        /**
+         * Requests allowed per period, also the max burst
+         */
+        private int limit;
+        private Duration period = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,17 @@
+package com.finance.ashipfd.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * SchedulingConfig
+ * Turns on @Scheduled background jobs
+ *
+ * Jobs:
+ * - MonthlyRollupService.verifyAll (rollup.verify.cron) - nightly rollup drift check
+ * - SyncService.purgeTombstones (sync.tombstone-purge.cron) - drop expired delete markers
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -1,17 +1,30 @@
 package com.finance.ashipfd.config;
 
 import com.finance.ashipfd.security.JwtAuthenticationFilter;
+import com.finance.ashipfd.security.RateLimitFilter;
+import com.finance.ashipfd.security.RateLimiter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.security.autoconfigure.actuate.web.servlet.EndpointRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import tools.jackson.databind.ObjectMapper;
 
 
 
@@ -23,21 +36,75 @@ import org.springframework.web.cors.CorsConfigurationSource;
 // Sets up security filter chain
 // Activates security annotations
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 /**
  * CHANGELOG:
  * - added CORS I LOVE CORS HAHAHHAHAHH it's 1am im sorry
+ * - rate limiting right after the JWT filter (see RateLimiter)
+ * - separate chain for /actuator/** (metrics scraper uses basic auth, not JWT)
  */
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CorsConfigurationSource corsConfigurationSource;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, CorsConfigurationSource corsConfigurationSource) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, CorsConfigurationSource corsConfigurationSource,
+                          RateLimiter rateLimiter, ObjectMapper objectMapper) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.corsConfigurationSource = corsConfigurationSource;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * /actuator/** only, checked BEFORE the API chain below
+     *
+     * - /actuator/health -> public (load balancer / Railway health check)
+     * - everything else (prometheus) -> HTTP basic as metrics.username / metrics.password
+     * - no metrics.password set -> nobody gets in
+     *
+     * Own user store, so the JWT users can't read metrics and the metrics
+     * user can't call the API
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain actuatorFilterChain(
+            HttpSecurity http,
+            PasswordEncoder passwordEncoder,
+            @Value("${metrics.username:prometheus}") String username,
+            @Value("${metrics.password:}") String password) throws Exception {
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers(EndpointRequest.to("health")).permitAll();
+                    if (password.isBlank()) {
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().hasRole("METRICS");
+                    }
+                })
+                // 401 written directly - sendError would forward to /error, which the API chain turns into a 403
+                .httpBasic(basic -> basic.authenticationEntryPoint((req, res, ex) -> {
+                    res.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"metrics\"");
+                    res.setStatus(HttpStatus.UNAUTHORIZED.value());
+                }));
+
+        if (!password.isBlank()) {
+            http.userDetailsService(new InMemoryUserDetailsManager(User.withUsername(username)
+                    .password(passwordEncoder.encode(password))
+                    .roles("METRICS")
+                    .build()));
+        }
+
+        return http.build();
     }
 
     // Tells spring to manage this object as a #BEAN get beaned (needs this filter chain to wokr)
     @Bean
+    @Order(2)
     public SecurityFilterChain securityFilterChain(HttpSecurity http, CorsConfigurationSource corsConfigurationSource) throws Exception {
         http
                 .cors(cors -> cors.configurationSource(corsConfigurationSource))
@@ -50,21 +117,43 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         // Public endpoints no JWT necessary
                         .requestMatchers("/api/auth/**").permitAll()
+                        // Async re-dispatch of a request that was already authorized (SSE / streaming
+                        // responses completing) - the JWT filter doesn't run again on it
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Forward to /error for a status the app already picked (i.e. 400 from @Valid),
+                        // otherwise it's re-checked without the JWT and the client sees 403 instead
+                        .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
                         // Everything else requires authentication
                         .anyRequest().authenticated()
-                ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                ).addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // after JWT so buckets can be per user, before auth checks so floods stop early
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper), JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    /**
+     * JwtAuthenticationFilter is a @Component, so Spring Boot would ALSO register it
+     * as a plain servlet filter running on every request - including /actuator/**,
+     * where a JWT would then count as logged in. It only belongs in the API chain above
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     /**
      * NOTES:
      * BCRYPT --> password hashing func
      *  - Purposely SLOW so people can't brute force it as easily
+     *  - Cost (auth.bcrypt.strength) = log2 rounds, +1 = twice as slow
+     *  - Raising it is safe: old hashes still verify + get rehashed on next login
      * @return BCryptPasswordEncoder()
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
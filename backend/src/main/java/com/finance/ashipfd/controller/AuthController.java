@@ -4,15 +4,17 @@ import com.finance.ashipfd.dto.LoginRequest;
 import jakarta.validation.Valid;
 import com.finance.ashipfd.dto.AuthResponse;
 import com.finance.ashipfd.dto.RegisterRequest;
-import com.finance.ashipfd.model.User;
 import com.finance.ashipfd.service.UserService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST Controller for authentication endpoints
  *  - Handles HTTP reqs
@@ -54,6 +56,8 @@ public class AuthController {
      * 8. Spring serializes AuthResponse --> JSON
      * 9. Return 201 Created with JSON body
      *
+     * 503 + Retry-After if the password hasher is swamped (same as login)
+     *
      * EXAMPLE REQUEST:
      * POST /api/auth/register
      * Content-Type: application/json
@@ -75,22 +79,23 @@ public class AuthController {
      * }
      */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        // Call service to register user
-        User user = userService.registerUser(request);
-
-        // Convert User entity to AuthResponse DTO
-        AuthResponse response = new AuthResponse(
-                user.getId(),
-                user.getEmail(),
-                user.getFirstName(),
-                user.getLastName(),
-                "Registered Successfully"
-        );
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        // Call service to register user - BCrypt runs on the hasher pool like login,
+        // this request thread goes back to Tomcat meanwhile
+        return userService.registerUser(request).thenApply(user -> {
+            // Convert User entity to AuthResponse DTO
+            AuthResponse response = new AuthResponse(
+                    user.getId(),
+                    user.getEmail(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    "Registered Successfully"
+            );
 
-        // Return 201 created with resp body
-        // ResponseEntity controls HTTP stat code
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            // Return 201 created with resp body
+            // ResponseEntity controls HTTP stat code
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
     }
 
     /**
@@ -107,13 +112,36 @@ public class AuthController {
      * {
      *     "token": "tokeninsertedherelol"
      * }
+     *
+     * 503 + Retry-After if too many logins / registrations are already being hashed
+     *
      * ** Using wildcard responsentity type -- this could probably be
      * its own class LoginResponse or something, but for now j using a wildcard instead **
      */
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest req) {
-        String token = userService.loginUser(req);
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest req) {
+        // BCrypt runs on the hasher pool, this request thread goes back to Tomcat meanwhile
+        return userService.loginUser(req)
+                .thenApply(token -> ResponseEntity.ok(java.util.Map.of("token", token)));
+    }
 
-        return ResponseEntity.ok(java.util.Map.of("token", token));
+    /**
+     * POST /api/auth/logout
+     *
+     * Revokes the bearer token so it can't be used again (even before it expires)
+     * 204 - logging out with a bad/expired token is a no-op
+     * 503 - revocation denylist is full, the token was NOT revoked (retry later)
+     *
+     * EXAMPLE REQUEST:
+     * POST /api/auth/logout
+     * Authorization: Bearer <JWT_TOKEN>
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = "Authorization", required = false) String header) {
+        if (header != null && header.startsWith("Bearer ")) {
+            userService.logoutUser(header.substring(7));
+        }
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,17 +1,24 @@
 package com.finance.ashipfd.controller;
 
+import com.finance.ashipfd.dto.BudgetCopyRangeRequest;
 import com.finance.ashipfd.dto.BudgetCopyRequest;
 import com.finance.ashipfd.dto.BudgetRequest;
 import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.BudgetStatusResponse;
 import com.finance.ashipfd.model.User;
 import com.finance.ashipfd.service.BudgetService;
+import com.finance.ashipfd.service.UserDataVersions;
 import jakarta.validation.Valid;
 import org.apache.coyote.Response;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
 
 /**
  * BudgetController
@@ -20,17 +27,22 @@ import org.springframework.web.bind.annotation.*;
  * Base path: /api/budgets
  *
  * Endpoints:
- * - GET    /api/budgets?month=1&year=2026  - Get budget for month/year
+ * - GET    /api/budgets?month=1&year=2026  - Get budget for month/year (ETag / If-None-Match)
  * - PUT    /api/budgets                    - Set/update budget
  * - DELETE /api/budgets?month=1&year=2026  - Delete budget
+ * - GET    /api/budgets/status?month=1&year=2026 - Budget vs actual spending for month/year
+ * - POST   /api/budgets/copy               - Copy one month's budget to another month
+ * - POST   /api/budgets/copy-range         - Copy one month's budget to a range of months
  */
 @RestController
 @RequestMapping("/api/budgets")
 public class BudgetController {
     private final BudgetService budgetService;
+    private final UserDataVersions userDataVersions;
 
-    public BudgetController(BudgetService budgetService) {
+    public BudgetController(BudgetService budgetService, UserDataVersions userDataVersions) {
         this.budgetService = budgetService;
+        this.userDataVersions = userDataVersions;
     }
 
     /**
@@ -38,6 +50,9 @@ public class BudgetController {
      *
      * Get budget for a specific month/year
      *
+     * Sends an ETag (see UserDataVersions). If-None-Match with it and nothing
+     * changed since -> 304, no db / cache lookup
+     *
      * @param month
      * @param year
      * @param auth
@@ -45,16 +60,56 @@ public class BudgetController {
      */
     @GetMapping
     public ResponseEntity<BudgetResponse> getBudget(
-            @RequestParam Integer month, @RequestParam Integer year, Authentication auth
+            @RequestParam Integer month, @RequestParam Integer year, Authentication auth, WebRequest request
     ) {
         Long userId = (Long) auth.getPrincipal();
+        String etag = userDataVersions.etag(userId);
+        if (request.checkNotModified(etag)) {
+            // 304 + ETag already on the response
+            return null;
+        }
+
         BudgetResponse budget = budgetService.getBudget(userId, month, year);
 
         if (budget == null) {
-            return ResponseEntity.noContent().build();
+            return ResponseEntity.noContent().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).build();
         }
 
-        return ResponseEntity.ok(budget);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(budget);
+    }
+
+    /**
+     * GET /api/budgets/status?month=1&year=2026
+     *
+     * Budget, category budgets and actual spending for a month in ONE call
+     * (replaces GET /api/budgets + GET /api/budgets/categories + downloading
+     * every transaction to add up spending on the frontend)
+     *
+     * EXAMPLE RESPONSE (200 OK):
+     * {
+     *   "month": 1,
+     *   "year": 2026,
+     *   "budget": { "id": 1, "budgetType": "CATEGORY_SUM", "amount": 0, "effectiveAmount": 600.00, ... },
+     *   "budgeted": 600.00,
+     *   "spent": 547.50,
+     *   "remaining": 52.50,
+     *   "percentUsed": 91.25,
+     *   "categories": [
+     *     { "category": "GROCERIES", "categoryBudget": {...}, "budgeted": 400.00,
+     *       "spent": 467.50, "remaining": -67.50, "percentUsed": 116.88 },
+     *     { "category": "DINING_OUT", "categoryBudget": {...}, "budgeted": 200.00,
+     *       "spent": 80.00, "remaining": 120.00, "percentUsed": 40.00 }
+     *   ]
+     * }
+     */
+    @GetMapping("/status")
+    public ResponseEntity<BudgetStatusResponse> getBudgetStatus(
+            @RequestParam Integer month,
+            @RequestParam Integer year,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(budgetService.getBudgetStatus(userId, month, year));
     }
 
     /**
@@ -131,4 +186,30 @@ public class BudgetController {
         BudgetResponse budget = budgetService.copyBudget(req, userId);
         return ResponseEntity.ok(budget);
     }
+
+    /**
+     * POST /api/budgets/copy-range
+     *
+     * Copy one month's budget (+ category budgets) into every month from..to
+     * in one go, e.g. set up the rest of the year from March
+     * Fails as a whole if any target month already has a budget
+     *
+     * EXAMPLE REQUEST:
+     * {
+     *   "sourceMonth": 3, "sourceYear": 2026,
+     *   "fromMonth": 4, "fromYear": 2026,
+     *   "toMonth": 12, "toYear": 2026,
+     *   "copyBudgetAmount": true,
+     *   "copyCategories": true
+     * }
+     *
+     * @return Created budget DTOs, oldest month first
+     */
+    @PostMapping("/copy-range")
+    public ResponseEntity<List<BudgetResponse>> copyBudgetRange(
+            @Valid @RequestBody BudgetCopyRangeRequest req,
+            Authentication auth) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(budgetService.copyBudgetRange(req, userId));
+    }
 }
@@ -1,13 +1,18 @@
 package com.finance.ashipfd.controller;
 
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.BulkCategoryBudgetResponse;
 import com.finance.ashipfd.dto.CategoryBudgetRequest;
 import com.finance.ashipfd.dto.CategoryBudgetResponse;
 import com.finance.ashipfd.model.TransactionCategory;
 import com.finance.ashipfd.service.CategoryBudgetService;
+import com.finance.ashipfd.service.UserDataVersions;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -18,23 +23,27 @@ import java.util.List;
  * Base path: /api/budgets/categories
  *
  * Endpoints:
- * - GET        /api/budgets/categories?month=1&year=2026                       - Get all category budgets for month
+ * - GET        /api/budgets/categories?month=1&year=2026                       - Get all category budgets for month (ETag / If-None-Match)
  * - PUT        /api/budgets/categories                                         - Set/update category budget
+ * - PUT        /api/budgets/categories/bulk                                    - Replace/merge the whole month's category budgets
  * - DELETE     /api/budgets/categories?month=1&year=2026&category=GROCERIES    - Delete category budget
  */
 @RestController
 @RequestMapping("/api/budgets/categories")
 public class CategoryBudgetController {
     private final CategoryBudgetService categoryBudgetService;
+    private final UserDataVersions userDataVersions;
 
-    public CategoryBudgetController(CategoryBudgetService categoryBudgetService) {
+    public CategoryBudgetController(CategoryBudgetService categoryBudgetService, UserDataVersions userDataVersions) {
         this.categoryBudgetService = categoryBudgetService;
+        this.userDataVersions = userDataVersions;
     }
 
     /**
      * GET /api/budgets/categories?month=1&year=2026
      *
      * Get all category budgets for a month/year
+     * ETag + If-None-Match -> 304 like GET /api/budgets
      *
      * EXAMPL (200 OK):
      * [
@@ -64,11 +73,17 @@ public class CategoryBudgetController {
     public ResponseEntity<List<CategoryBudgetResponse>> getCategoryBudgets(
             @RequestParam Integer month,
             @RequestParam Integer year,
-            Authentication auth
+            Authentication auth,
+            WebRequest request
     ) {
         Long userId = (Long) auth.getPrincipal();
+        String etag = userDataVersions.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
         List<CategoryBudgetResponse> categoryBudgets = categoryBudgetService.getCategoryBudgets(userId, month, year);
-        return ResponseEntity.ok(categoryBudgets);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(categoryBudgets);
     }
 
     /**
@@ -95,6 +110,36 @@ public class CategoryBudgetController {
         return ResponseEntity.ok(budget);
     }
 
+    /**
+     * PUT /api/budgets/categories/bulk
+     *
+     * Set every category budget for a month at once (one transaction)
+     * replace = true (default) also deletes categories that aren't listed
+     *
+     * EXAMPLE:
+     * {
+     *   "month": 1,
+     *   "year": 2026,
+     *   "replace": true,
+     *   "categoryBudgets": [
+     *     { "category": "GROCERIES", "amount": 400.00 },
+     *     { "category": "DINING_OUT", "amount": 200.00 }
+     *   ]
+     * }
+     *
+     * Response has the month's category budgets + effectiveAmount (their sum)
+     */
+    @PutMapping("/bulk")
+    public ResponseEntity<BulkCategoryBudgetResponse> setCategoryBudgets(
+            @Valid @RequestBody BulkCategoryBudgetRequest request,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        BulkCategoryBudgetResponse budgets = categoryBudgetService.setCategoryBudgets(request, userId);
+
+        return ResponseEntity.ok(budgets);
+    }
+
     /**
      * i.e. DELETE /api/budgets/categories?month=1&year=2026&category=GROCERIES
      *
@@ -0,0 +1,46 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.service.ChangeEventHub;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * EventController
+ * Server-Sent Events stream of data changes for open dashboards
+ * Requires JWT auth (Authorization header - use a fetch-based SSE client,
+ * the browser's EventSource can't send headers)
+ *
+ * Endpoints:
+ * - GET /api/events - text/event-stream, one per tab
+ */
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+    private final ChangeEventHub changeEventHub;
+
+    public EventController(ChangeEventHub changeEventHub) {
+        this.changeEventHub = changeEventHub;
+    }
+
+    /**
+     * GET /api/events
+     *
+     * Stays open. After any committed write to the user's data:
+     *
+     * event: change
+     * data: {"types":["TRANSACTION"]}
+     *
+     * then GET /api/sync?since=<watermark> for the rows
+     * ": ping" comment lines keep idle streams alive
+     * Slow readers get disconnected - reconnect + resync
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(Authentication auth) {
+        Long userId = (Long) auth.getPrincipal();
+        return changeEventHub.subscribe(userId);
+    }
+}
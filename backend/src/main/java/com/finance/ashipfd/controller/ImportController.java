@@ -0,0 +1,115 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.dto.ImportJobResponse;
+import com.finance.ashipfd.exception.InvalidImportFileException;
+import com.finance.ashipfd.service.ImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ImportController
+ * REST API for CSV bank-statement imports
+ * All endpoints require JWT auth
+ * Base path: /api/imports
+ *
+ * Endpoints:
+ * - POST   /api/imports        - Upload a CSV, starts an import job (returns right away)
+ * - GET    /api/imports/{id}   - Job progress
+ * - DELETE /api/imports/{id}   - Cancel job (already imported rows stay)
+ */
+@RestController
+@RequestMapping("/api/imports")
+public class ImportController {
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * POST /api/imports
+     *
+     * Upload a CSV (multipart, field name "file")
+     * The upload is copied to a temp file since the multipart part is
+     * gone once this request ends, then the import runs in the background
+     *
+     * EXAMPLE REQUEST:
+     * POST /api/imports
+     * Authorization: Bearer <JWT_TOKEN>
+     * Content-Type: multipart/form-data
+     *
+     * file=@december.csv
+     *   date,amount,category,description
+     *   2025-12-01,-45.50,GROCERIES,Trader Joe's
+     *   2025-12-01,6000.00,SALARY,Paycheck
+     *
+     * EXAMPLE RESPONSE (202 Accepted):
+     * {
+     *   "id": "4f1c2a7e-...",
+     *   "fileName": "december.csv",
+     *   "status": "QUEUED",
+     *   "rowsRead": 0,
+     *   ...
+     * }
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobResponse> startImport(
+            @RequestParam("file") MultipartFile file,
+            Authentication auth
+    ) throws IOException {
+        Long userId = (Long) auth.getPrincipal();
+
+        if (file.isEmpty()) {
+            throw new InvalidImportFileException("Uploaded file is empty");
+        }
+
+        Path tempFile = Files.createTempFile("import-", ".csv");
+        ImportJobResponse job;
+        try {
+            file.transferTo(tempFile);
+            job = importService.submit(userId, file.getOriginalFilename(), tempFile);
+        } catch (IOException | RuntimeException e) {
+            // The job never started, so nobody else will clean it up
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    /**
+     * GET /api/imports/{id}
+     *
+     * Progress of an import job (poll this)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJobResponse> getImport(
+            @PathVariable String id,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(importService.getJob(id, userId));
+    }
+
+    /**
+     * DELETE /api/imports/{id}
+     *
+     * Cancel an import - stops at the next chunk
+     * Returns the job so the client can see how far it got
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ImportJobResponse> cancelImport(
+            @PathVariable String id,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(importService.cancelJob(id, userId));
+    }
+}
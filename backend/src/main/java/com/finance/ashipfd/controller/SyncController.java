@@ -0,0 +1,58 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.dto.SyncResponse;
+import com.finance.ashipfd.service.SyncService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+/**
+ * SyncController
+ * Delta sync for the frontend's local cache
+ * Requires JWT auth
+ *
+ * Endpoints:
+ * - GET /api/sync                     - Full snapshot + a watermark
+ * - GET /api/sync?since=<watermark>   - Only what changed / got deleted since then
+ */
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+    private final SyncService syncService;
+
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * GET /api/sync?since=2026-01-04T10:00:00.123
+     *
+     * since = watermark from the last response (leave it off the first time)
+     *
+     * EXAMPLE RESPONSE (200 OK):
+     * {
+     *   "watermark": "2026-01-04T10:05:00.456",
+     *   "full": false,
+     *   "transactions": [ { "id": 42, "amount": 67.50, ... } ],
+     *   "budgets": [],
+     *   "categoryBudgets": [],
+     *   "deleted": [ { "type": "TRANSACTION", "id": 41, "deletedAt": "2026-01-04T10:01:00" } ]
+     * }
+     *
+     * full = true -> replace the local cache instead of merging (see SyncResponse)
+     */
+    @GetMapping
+    public ResponseEntity<SyncResponse> sync(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(syncService.getChanges(userId, since));
+    }
+}
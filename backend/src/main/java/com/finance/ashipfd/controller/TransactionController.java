@@ -1,14 +1,26 @@
 package com.finance.ashipfd.controller;
 
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
 import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.ExportFormat;
+import com.finance.ashipfd.dto.MonthlySummaryResponse;
+import com.finance.ashipfd.dto.TransactionFilter;
+import com.finance.ashipfd.dto.TransactionPageResponse;
 import com.finance.ashipfd.dto.TransactionResponse;
 import com.finance.ashipfd.dto.UpdateTransactionRequest;
+import com.finance.ashipfd.service.TransactionExportService;
 import com.finance.ashipfd.service.TransactionService;
+import com.finance.ashipfd.service.UserDataVersions;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -20,7 +32,12 @@ import java.util.List;
  * Bp: /api/transactions
  * Endpoints:
  * - POST   /api/transactions          - Create new transaction
- * - GET    /api/transactions          - Get all user's transactions
+ * - POST   /api/transactions/batch    - Create up to 5000 transactions at once
+ * - GET    /api/transactions          - Get all user's transactions (optional filters, see TransactionFilter)
+ * - GET    /api/transactions?limit=50 - Get one page of user's transactions (cursor pagination)
+ *   (both send an ETag, If-None-Match that still matches -> 304 without a query)
+ * - GET    /api/transactions/export   - Download full history as NDJSON or CSV (streamed)
+ * - GET    /api/transactions/summary?month=1&year=2026 - Income/expense totals for a month
  * - GET    /api/transactions/{id}     - Get single transaction
  * - PUT    /api/transactions/{id}     - Update transaction
  * - DELETE /api/transactions/{id}     - Delete transaction
@@ -30,9 +47,16 @@ import java.util.List;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final UserDataVersions userDataVersions;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(
+            TransactionService transactionService,
+            TransactionExportService transactionExportService,
+            UserDataVersions userDataVersions) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.userDataVersions = userDataVersions;
     }
 
     /**
@@ -76,12 +100,52 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transactionResponse);
     }
 
+    /**
+     * POST /api/transactions/batch
+     *
+     * Create many transactions in one request + one db transaction
+     * Every item is validated like POST /api/transactions, if ANY item is
+     * invalid nothing gets saved (400 w/ all the errors)
+     *
+     * EXAMPLE REQUEST:
+     * POST /api/transactions/batch
+     * Authorization: Bearer <JWT_TOKEN>
+     * Content-Type: application/json
+     *
+     * {
+     *   "transactions": [
+     *     { "amount": 45.50, "type": "EXPENSE", "category": "GROCERIES", "transactionDate": "2025-12-15" },
+     *     { "amount": 6000.00, "type": "INCOME", "category": "SALARY", "transactionDate": "2025-12-01" }
+     *   ]
+     * }
+     *
+     * EXAMPLE RESPONSE (201 Created):
+     * [
+     *   { "id": 101, "userId": 4, "amount": 45.50, "type": "EXPENSE", ... },
+     *   { "id": 102, "userId": 4, "amount": 6000.00, "type": "INCOME", ... }
+     * ]
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionResponse>> createTransactions(
+            @Valid @RequestBody BulkCreateTransactionRequest req,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+
+        List<TransactionResponse> created = transactionService.createTransactions(req, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
     /**
      * GET /api/transactions
      *
      * Get all transactions for authd user
      * Returns transactions ordered by date (newest first)
      *
+     * Optional filters (all combinable, applied in the db):
+     * startDate, endDate, type, categories (repeatable), minAmount, maxAmount, description
+     * i.e. GET /api/transactions?startDate=2025-12-01&endDate=2025-12-31&type=EXPENSE&categories=GROCERIES
+     *
      EXAMPLE REQUEST:
      * GET /api/transactions
      * Authorization: Bearer <JWT_TOKEN>
@@ -110,11 +174,124 @@ public class TransactionController {
      *   }
      */
     @GetMapping
-    public ResponseEntity<List<TransactionResponse>> getAllTransactions(Authentication auth) {
+    public ResponseEntity<List<TransactionResponse>> getAllTransactions(
+            @Valid @ModelAttribute TransactionFilter filter,
+            Authentication auth,
+            WebRequest request
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        // Version read BEFORE the query, so the body is never older than its ETag
+        String etag = userDataVersions.etag(userId);
+        if (request.checkNotModified(etag)) {
+            // 304 + ETag already on the response
+            return null;
+        }
+
+        List<TransactionResponse> transactions = transactionService.getAllUserTransactions(userId, filter);
+
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(transactions);
+    }
+
+    /**
+     * GET /api/transactions?limit=50&cursor=...
+     *
+     * Opt-in paginated version of the endpoint above (kicks in when limit is sent)
+     * Newest first, same order as the full list
+     * Takes the same optional filters too
+     * Pass nextCursor from the last response as cursor to load the next page
+     * Leave cursor off for the first page
+     *
+     * EXAMPLE REQUEST:
+     * GET /api/transactions?limit=2
+     * Authorization: Bearer <JWT_TOKEN>
+     *
+     * EXAMPLE RESPONSE (200 OK):
+     * {
+     *   "transactions": [
+     *     { "id": 42, "userId": 4, "amount": 6000.00, ... },
+     *     { "id": 41, "userId": 4, "amount": 67.50, ... }
+     *   ],
+     *   "nextCursor": "MjAyNS0xMi0xNFQxODozMDowMHw0MQ",
+     *   "hasMore": true
+     * }
+     *
+     * Bad cursor -> 400 Bad Request
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<TransactionPageResponse> getTransactionsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @Valid @ModelAttribute TransactionFilter filter,
+            Authentication auth,
+            WebRequest request
+    ) {
         Long userId = (Long) auth.getPrincipal();
-        List<TransactionResponse> transactions = transactionService.getAllUserTransactions(userId);
+        String etag = userDataVersions.etag(userId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        TransactionPageResponse page = transactionService.getUserTransactionsPage(userId, limit, cursor, filter);
 
-        return ResponseEntity.ok(transactions);
+        return ResponseEntity.ok().eTag(etag).cacheControl(CacheControl.noCache().cachePrivate()).body(page);
+    }
+
+    /**
+     * GET /api/transactions/export?format=CSV
+     *
+     * Download the user's FULL history (format = NDJSON (default) or CSV)
+     * Rows are streamed out as they're read from the db, so this works the
+     * same for 1k or 10M transactions (see TransactionExportService)
+     *
+     * EXAMPLE RESPONSE (200 OK, format=CSV):
+     * id,transactionDate,type,category,amount,description,createdAt
+     * 2,2025-01-15,INCOME,SALARY,6000.00,Monthly salary,2025-01-15T09:00
+     * 1,2025-12-14,EXPENSE,GROCERIES,67.50,Weekly groceries,2025-12-14T18:30
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+
+        // Runs on an async thread after this method returns
+        StreamingResponseBody body = out -> transactionExportService.export(userId, format, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"transactions." + format.getExtension() + "\"")
+                .body(body);
+    }
+
+    /**
+     * GET /api/transactions/summary?month=1&year=2026
+     *
+     * Monthly totals computed in the db (GROUP BY), so the budget card
+     * doesn't have to download every transaction to add them up
+     *
+     * EXAMPLE RESPONSE (200 OK):
+     * {
+     *   "month": 1,
+     *   "year": 2026,
+     *   "totalIncome": 6000.00,
+     *   "totalExpense": 467.50,
+     *   "net": 5532.50,
+     *   "categories": [
+     *     { "category": "SALARY", "type": "INCOME", "total": 6000.00, "count": 1 },
+     *     { "category": "GROCERIES", "type": "EXPENSE", "total": 467.50, "count": 6 }
+     *   ]
+     * }
+     */
+    @GetMapping("/summary")
+    public ResponseEntity<MonthlySummaryResponse> getMonthlySummary(
+            @RequestParam Integer month,
+            @RequestParam Integer year,
+            Authentication auth
+    ) {
+        Long userId = (Long) auth.getPrincipal();
+        return ResponseEntity.ok(transactionService.getMonthlySummary(userId, month, year));
     }
 
     /**
@@ -0,0 +1,53 @@
+package com.finance.ashipfd.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * dto for copying one month's budget into every month of a range
+ * e.g. March 2026 -> April 2026 through December 2026
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetCopyRangeRequest {
+    @NotNull
+    @Min(value = 1, message = "Invalid Month")
+    @Max(value = 12, message = "Invalid Month")
+    private Integer sourceMonth;
+
+    @NotNull
+    @Min(value = 2000, message = "Invalid Year")
+    @Max(value = 2100, message = "Invalid Year")
+    private Integer sourceYear;
+
+    // First target month (inclusive)
+    @NotNull
+    @Min(value = 1, message = "Invalid Month")
+    @Max(value = 12, message = "Invalid Month")
+    private Integer fromMonth;
+
+    @NotNull
+    @Min(value = 2000, message = "Invalid Year")
+    @Max(value = 2100, message = "Invalid Year")
+    private Integer fromYear;
+
+    // Last target month (inclusive)
+    @NotNull
+    @Min(value = 1, message = "Invalid Month")
+    @Max(value = 12, message = "Invalid Month")
+    private Integer toMonth;
+
+    @NotNull
+    @Min(value = 2000, message = "Invalid Year")
+    @Max(value = 2100, message = "Invalid Year")
+    private Integer toYear;
+
+    // Same as BudgetCopyRequest
+    private boolean copyBudgetAmount = true;
+    private boolean copyCategories = true;
+}
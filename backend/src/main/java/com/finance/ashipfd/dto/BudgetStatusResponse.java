@@ -0,0 +1,66 @@
+package com.finance.ashipfd.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for GET /api/budgets/status?month=1&year=2026
+ * Everything the budget page needs for one month in one response
+ *
+ * {
+ *     "month": 1,
+ *     "year": 2026,
+ *     "budget": { "id": 1, "budgetType": "GENERAL", "amount": 2500.00, "effectiveAmount": 2500.00, ... },
+ *     "budgeted": 2500.00,
+ *     "spent": 1840.25,
+ *     "remaining": 659.75,
+ *     "percentUsed": 73.61,
+ *     "categories": [
+ *         { "category": "GROCERIES", "categoryBudget": {...}, "budgeted": 400.00,
+ *           "spent": 467.50, "remaining": -67.50, "percentUsed": 116.88 },
+ *         { "category": "GAS", "categoryBudget": null, "budgeted": null,
+ *           "spent": 80.00, "remaining": null, "percentUsed": null }
+ *     ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetStatusResponse {
+    private Integer month;
+    private Integer year;
+
+    /**
+     * Overall budget, null if none set for the month
+     */
+    private BudgetResponse budget;
+
+    /**
+     * budget.effectiveAmount (null if no budget)
+     */
+    private BigDecimal budgeted;
+
+    /**
+     * Total EXPENSE spending for the month
+     */
+    private BigDecimal spent;
+
+    /**
+     * budgeted - spent (negative = over budget), null if no budget
+     */
+    private BigDecimal remaining;
+
+    /**
+     * spent / budgeted * 100, null if no budget or it's zero
+     */
+    private BigDecimal percentUsed;
+
+    /**
+     * Every budgeted category + every category with spending (TransactionCategory order)
+     */
+    private List<CategoryBudgetStatus> categories;
+}
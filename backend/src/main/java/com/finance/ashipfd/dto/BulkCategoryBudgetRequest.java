@@ -0,0 +1,52 @@
+package com.finance.ashipfd.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for setting a whole month of category budgets in one request
+ *
+ * replace = true (default): the month ends up with exactly these categories,
+ *                           anything not in the list is deleted
+ * replace = false:          merge - listed categories are set, the rest are left alone
+ *
+ * {
+ *     "month": 1,
+ *     "year": 2026,
+ *     "replace": true,
+ *     "categoryBudgets": [
+ *         { "category": "GROCERIES", "amount": 400.00 },
+ *         { "category": "DINING_OUT", "amount": 200.00 }
+ *     ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCategoryBudgetRequest {
+
+    @NotNull(message = "Month is required")
+    @Min(value = 1, message = "Please enter a valid numeric month")
+    @Max(value = 12, message = "Please enter a valid numeric month")
+    private Integer month;
+
+    @NotNull(message = "Year is required")
+    @Min(value = 2000, message = "Let's be realistic with the year ;)")
+    @Max(value = 2200, message = "That's hopeful")
+    private Integer year;
+
+    private boolean replace = true;
+
+    /**
+     * Each category at most once, empty + replace = clear the month
+     */
+    @NotNull(message = "categoryBudgets is required")
+    private List<@Valid @NotNull CategoryBudgetAmount> categoryBudgets;
+}
@@ -0,0 +1,33 @@
+package com.finance.ashipfd.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for PUT /api/budgets/categories/bulk
+ * The month's category budgets after the write + what a CATEGORY_SUM budget now comes to
+ *
+ * {
+ *     "month": 1,
+ *     "year": 2026,
+ *     "categoryBudgets": [ { "id": 1, "category": "GROCERIES", "amount": 400.00, ... }, ... ],
+ *     "effectiveAmount": 600.00
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCategoryBudgetResponse {
+    private Integer month;
+    private Integer year;
+    private List<CategoryBudgetResponse> categoryBudgets;
+
+    /**
+     * Sum of categoryBudgets (= effectiveAmount of a CATEGORY_SUM budget for the month)
+     */
+    private BigDecimal effectiveAmount;
+}
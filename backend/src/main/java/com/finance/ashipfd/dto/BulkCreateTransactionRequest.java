@@ -0,0 +1,36 @@
+package com.finance.ashipfd.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for creating many transactions in one request
+ * (bank-sync clients pushing hundreds of rows at a time)
+ *
+ * @Valid on the list = every item gets the same checks as
+ * CreateTransactionRequest, and ALL errors come back together
+ *
+ * {
+ *     "transactions": [
+ *         { "amount": 45.50, "type": "EXPENSE", "category": "GROCERIES", "transactionDate": "2025-12-15" },
+ *         { "amount": 6000.00, "type": "INCOME", "category": "SALARY" }
+ *     ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateTransactionRequest {
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = MAX_BATCH_SIZE, message = "Max 5000 transactions per batch")
+    private List<@Valid @NotNull CreateTransactionRequest> transactions;
+}
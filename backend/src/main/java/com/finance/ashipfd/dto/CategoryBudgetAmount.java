@@ -0,0 +1,27 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.TransactionCategory;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One category + amount inside BulkCategoryBudgetRequest
+ * (month/year live on the request, same checks as CategoryBudgetRequest)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBudgetAmount {
+
+    @NotNull(message = "Category required")
+    private TransactionCategory category;
+
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than $0")
+    private BigDecimal amount;
+}
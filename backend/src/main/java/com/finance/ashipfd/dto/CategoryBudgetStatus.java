@@ -0,0 +1,35 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.TransactionCategory;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One category line of GET /api/budgets/status
+ *
+ * Categories with spending but no category budget show up too,
+ * with budgeted/remaining/percentUsed = null
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryBudgetStatus {
+    private TransactionCategory category;
+
+    /**
+     * The category budget itself, null if this category isn't budgeted
+     */
+    private CategoryBudgetResponse categoryBudget;
+
+    private BigDecimal budgeted;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+
+    /**
+     * spent / budgeted * 100 (can go over 100), null if nothing/zero budgeted
+     */
+    private BigDecimal percentUsed;
+}
@@ -0,0 +1,25 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One (category, type) bucket of a monthly summary
+ *
+ * Built straight from a GROUP BY row (JPQL constructor expression),
+ * so no Transaction entities get loaded for it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryTotal {
+    private TransactionCategory category;
+    private TransactionType type;
+    private BigDecimal total;
+    private Long count;
+}
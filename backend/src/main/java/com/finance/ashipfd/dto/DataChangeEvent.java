@@ -0,0 +1,23 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Payload of a "change" event on GET /api/events
+ * Just which kinds of rows changed (coalesced) - fetch the rows with
+ * GET /api/sync?since=<watermark>
+ *
+ * event: change
+ * data: {"types":["TRANSACTION","CATEGORY_BUDGET"]}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataChangeEvent {
+    private List<SyncEntityType> types;
+}
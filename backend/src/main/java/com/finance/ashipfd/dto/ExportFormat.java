@@ -0,0 +1,31 @@
+package com.finance.ashipfd.dto;
+
+/**
+ * Formats supported by GET /api/transactions/export
+ *
+ * NDJSON - one TransactionResponse JSON object per line
+ * CSV    - header row + one row per transaction
+ *
+ * Both are line-based on purpose: each row is written as soon as it's read,
+ * so nothing has to be held in memory to close a wrapping array or whatever
+ */
+public enum ExportFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
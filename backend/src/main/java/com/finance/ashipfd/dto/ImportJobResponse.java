@@ -0,0 +1,46 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.ImportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for import job progress (GET /api/imports/{id})
+ *
+ * {
+ *     "id": "4f1c...",
+ *     "fileName": "chase-december.csv",
+ *     "status": "RUNNING",
+ *     "rowsRead": 12000,
+ *     "rowsImported": 11500,
+ *     "rowsFailed": 3,
+ *     "chunksCommitted": 23,
+ *     "errors": ["Row 17: Amount must be greater than 0"],
+ *     "createdAt": "2026-01-04T10:00:00",
+ *     "finishedAt": null
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobResponse {
+    private String id;
+    private String fileName;
+    private ImportJobStatus status;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private long chunksCommitted;
+
+    /**
+     * First few problems only (capped so a junk file doesn't blow up the response)
+     */
+    private List<String> errors;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime finishedAt;
+}
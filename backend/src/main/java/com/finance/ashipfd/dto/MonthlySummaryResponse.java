@@ -0,0 +1,43 @@
+package com.finance.ashipfd.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for GET /api/transactions/summary?month=1&year=2026
+ *
+ * {
+ *     "month": 1,
+ *     "year": 2026,
+ *     "totalIncome": 6000.00,
+ *     "totalExpense": 2467.50,
+ *     "net": 3532.50,
+ *     "categories": [
+ *         { "category": "SALARY", "type": "INCOME", "total": 6000.00, "count": 1 },
+ *         { "category": "GROCERIES", "type": "EXPENSE", "total": 467.50, "count": 6 }
+ *     ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlySummaryResponse {
+    private Integer month;
+    private Integer year;
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+
+    /**
+     * totalIncome - totalExpense
+     */
+    private BigDecimal net;
+
+    /**
+     * Biggest total first
+     */
+    private List<CategoryTotal> categories;
+}
@@ -0,0 +1,43 @@
+package com.finance.ashipfd.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for GET /api/sync?since=<watermark>
+ *
+ * full = false: only rows created / changed / deleted since the watermark.
+ *               Upsert the three lists by id, then drop everything in deleted
+ * full = true:  no since, or one older than the tombstone retention -
+ *               every row the user has, replace the local cache (deleted is empty)
+ *
+ * Send watermark back as since next time. It trails the server clock a
+ * little, so the next diff can repeat a few rows - applying them is a no-op
+ *
+ * Budgets come as stored: effectiveAmount = amount. For CATEGORY_SUM it's
+ * the sum of that month's category budgets, which are in the same cache
+ *
+ * {
+ *     "watermark": "2026-01-04T10:00:00.123",
+ *     "full": false,
+ *     "transactions": [ { "id": 42, "amount": 67.50, ... } ],
+ *     "budgets": [],
+ *     "categoryBudgets": [ { "id": 7, "category": "GROCERIES", ... } ],
+ *     "deleted": [ { "type": "TRANSACTION", "id": 41, "deletedAt": "..." } ]
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SyncResponse {
+    private LocalDateTime watermark;
+    private boolean full;
+    private List<TransactionResponse> transactions;
+    private List<BudgetResponse> budgets;
+    private List<CategoryBudgetResponse> categoryBudgets;
+    private List<TombstoneResponse> deleted;
+}
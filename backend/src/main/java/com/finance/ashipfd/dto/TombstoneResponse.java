@@ -0,0 +1,26 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.SyncEntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One deleted row in a SyncResponse - drop (type, id) from the local cache
+ *
+ * {
+ *     "type": "TRANSACTION",
+ *     "id": 812,
+ *     "deletedAt": "2026-01-04T10:00:00"
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TombstoneResponse {
+    private SyncEntityType type;
+    private Long id;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,70 @@
+package com.finance.ashipfd.dto;
+
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * Query-param filters for GET /api/transactions
+ *
+ * Every field is optional, whatever is set gets AND-ed together
+ * e.g. /api/transactions?startDate=2026-01-01&endDate=2026-01-31&type=EXPENSE
+ *          &categories=GROCERIES&categories=DINING_OUT&minAmount=10&description=coffee
+ *
+ * Filtering happens in the db so only the matching rows come back
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionFilter {
+    /**
+     * Inclusive transactionDate range
+     */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate startDate;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate endDate;
+
+    private TransactionType type;
+
+    /**
+     * Match ANY of these categories
+     */
+    private Set<TransactionCategory> categories;
+
+    /**
+     * Inclusive amount range
+     */
+    @DecimalMin(value = "0.00", message = "Min amount can't be negative")
+    private BigDecimal minAmount;
+
+    @DecimalMin(value = "0.00", message = "Max amount can't be negative")
+    private BigDecimal maxAmount;
+
+    /**
+     * Case-insensitive substring of the description
+     */
+    private String description;
+
+    /**
+     * True if no filter was actually sent
+     */
+    public boolean isEmpty() {
+        return startDate == null
+                && endDate == null
+                && type == null
+                && (categories == null || categories.isEmpty())
+                && minAmount == null
+                && maxAmount == null
+                && (description == null || description.isBlank());
+    }
+}
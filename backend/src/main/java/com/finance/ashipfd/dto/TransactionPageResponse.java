@@ -0,0 +1,34 @@
+package com.finance.ashipfd.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of transactions (cursor pagination)
+ *
+ * Client keeps passing nextCursor back as ?cursor= until hasMore is false
+ * The cursor is opaque - client should NOT try to build or parse it
+ *
+ * {
+ *     "transactions": [ ... ],
+ *     "nextCursor": "MjAyNS0xMi0xNVQxNDozMDowMHw0Mg",
+ *     "hasMore": true
+ * }
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageResponse {
+    private List<TransactionResponse> transactions;
+
+    /**
+     * Cursor pointing at the last row of this page
+     * null when there's nothing left to load
+     */
+    private String nextCursor;
+
+    private boolean hasMore;
+}
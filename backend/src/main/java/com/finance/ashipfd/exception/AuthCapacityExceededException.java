@@ -0,0 +1,10 @@
+package com.finance.ashipfd.exception;
+
+/**
+ * Password hashing pool + queue are full (login storm) -> 503, try again shortly
+ */
+public class AuthCapacityExceededException extends RuntimeException {
+    public AuthCapacityExceededException() {
+        super("Too many login attempts right now, please retry shortly");
+    }
+}
@@ -0,0 +1,7 @@
+package com.finance.ashipfd.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String id) {
+        super("Import job not found: " + id);
+    }
+}
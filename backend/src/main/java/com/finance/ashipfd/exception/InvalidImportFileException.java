@@ -0,0 +1,7 @@
+package com.finance.ashipfd.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.finance.ashipfd.exception;
+
+/**
+ * Request is well-formed but its values don't make sense together
+ * (month out of range, duplicate entries, a copy range that overlaps its source, ...)
+ */
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.finance.ashipfd.exception;
+
+/**
+ * Revoked-token denylist is full -> logout NOT recorded, 503 so the client
+ * knows the token still works instead of assuming it's dead
+ */
+public class RevocationCapacityExceededException extends RuntimeException {
+    public RevocationCapacityExceededException() {
+        super("Logout could not be recorded right now, please retry shortly");
+    }
+}
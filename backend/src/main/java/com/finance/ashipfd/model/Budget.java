@@ -18,7 +18,10 @@ import java.time.LocalDateTime;
  */
 
 @Entity
-@Table(name = "budgets", uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year"}))
+@Table(name = "budgets",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year"}),
+        // Delta sync: "what changed since X" (SyncService)
+        indexes = @Index(name = "idx_budgets_user_updated", columnList = "user_id, updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,7 +23,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "category_budgets",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year", "category"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "month", "year", "category"}),
+        // Delta sync: "what changed since X" (SyncService)
+        indexes = @Index(name = "idx_category_budgets_user_updated", columnList = "user_id, updated_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,22 @@
+package com.finance.ashipfd.model;
+
+/**
+ * Lifecycle of a CSV import job
+ *
+ * QUEUED    - accepted, pipeline not started yet
+ * RUNNING   - parsing + inserting chunks
+ * COMPLETED - whole file processed (some rows may still have failed, see counts)
+ * FAILED    - file couldn't be read at all (chunks committed before that stay)
+ * CANCELLED - user cancelled (chunks committed before that stay)
+ */
+public enum ImportJobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
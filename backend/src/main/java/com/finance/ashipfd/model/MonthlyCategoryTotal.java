@@ -0,0 +1,66 @@
+package com.finance.ashipfd.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * MonthlyCategoryTotal entity (rollup table)
+ *
+ * Running total of a user's transactions per (year, month, category, type)
+ * Example: user 4, January 2026, GROCERIES, EXPENSE -> total $467.50 over 6 transactions
+ *
+ * WHY?
+ * - Summaries / budget-vs-actual read a few of these rows instead of
+ *   re-adding every raw transaction each time
+ * - TransactionService keeps it in sync in the SAME db transaction as the
+ *   write (see MonthlyRollupRepository.applyDeltas)
+ * - MonthlyRollupService can rebuild it from raw rows + report drift
+ *
+ * month/year come from transactionDate (when it happened, not when it was recorded)
+ */
+@Entity
+@Table(name = "monthly_category_totals",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_monthly_category_totals_bucket",
+                columnNames = {"user_id", "year", "month", "category", "type"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonthlyCategoryTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    /**
+     * How many transactions are in this bucket
+     * 0 = bucket is empty (everything in it got deleted/moved)
+     */
+    @Column(name = "txn_count", nullable = false)
+    private Long txnCount;
+}
@@ -0,0 +1,10 @@
+package com.finance.ashipfd.model;
+
+/**
+ * Which table a Tombstone points at
+ */
+public enum SyncEntityType {
+    TRANSACTION,
+    BUDGET,
+    CATEGORY_BUDGET
+}
@@ -0,0 +1,53 @@
+package com.finance.ashipfd.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone entity
+ *
+ * "This row was deleted" marker for delta sync - a deleted row can't show
+ * up in an updated_at query, so every delete path writes one of these
+ * Example: user 4 deleted transaction 812 at 2026-01-04T10:00
+ *
+ * - userId is a plain column (no FK / User proxy), rows are written from
+ *   JPA and from plain JDBC (CategoryBudgetRepositoryCustom)
+ * - Purged after sync.tombstone-retention (SyncService.purgeTombstones),
+ *   clients older than that get a full snapshot instead of a diff
+ */
+@Entity
+@Table(name = "sync_tombstones",
+        indexes = @Index(name = "idx_sync_tombstones_user_deleted", columnList = "user_id, deleted_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Tombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private SyncEntityType entityType;
+
+    /**
+     * id of the deleted transaction / budget / category budget
+     */
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    public static Tombstone of(Long userId, SyncEntityType entityType, Long entityId) {
+        return new Tombstone(null, userId, entityType, entityId, LocalDateTime.now());
+    }
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -24,14 +25,34 @@ import java.time.LocalDateTime;
  * - Each Transaction belongs to ONE User
  */
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        // Backs the newest-first listing + cursor pagination seek
+        @Index(name = "idx_transactions_user_created_id", columnList = "user_id, created_at DESC, id DESC"),
+        // Back the date range / category filters (TransactionSpecifications)
+        @Index(name = "idx_transactions_user_date", columnList = "user_id, transaction_date"),
+        @Index(name = "idx_transactions_user_category_date", columnList = "user_id, category, transaction_date"),
+        // Delta sync: "what changed since X" (SyncService)
+        @Index(name = "idx_transactions_user_updated", columnList = "user_id, updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Transaction {
 
+    /**
+     * PK from a pooled sequence (NOT identity)
+     *
+     * WHY?
+     * - IDENTITY = db only hands out the id during the INSERT, so Hibernate
+     *   has to send every insert on its own -> JDBC batching is off
+     * - Sequence w/ allocationSize 50 = one nextval() reserves 50 ids,
+     *   Hibernate assigns them in memory and batches the inserts
+     *
+     * Reuses the sequence the old identity column already had so existing ids don't collide
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -88,10 +109,24 @@ public class Transaction {
     private LocalDateTime createdAt;
 
     /**
-     * Auto-set createdAt before saving
+     * Last time the row was created or changed (delta sync watermark)
+     * DB default so adding the column fills in rows that already exist
+     */
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Auto-set createdAt / updatedAt before saving
      */
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
     }
 }
@@ -1,21 +1,130 @@
 package com.finance.ashipfd.repository;
 
+import com.finance.ashipfd.dto.BudgetResponse;
 import com.finance.ashipfd.model.Budget;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BudgetRepository extends JpaRepository<Budget, Long> {
+public interface BudgetRepository extends JpaRepository<Budget, Long>, BudgetRepositoryCustom {
 
     /**
      * Find budget for a specific user, month, and year
      */
     Optional<Budget> findByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
 
+    /**
+     * Same row straight into the response DTO (read paths, no managed entity)
+     * effectiveAmount is just amount here - for CATEGORY_SUM the service fills it in
+     *
+     * readOnly here too since the cached read calls it without a service transaction
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.BudgetResponse(
+                b.id, b.user.id, b.month, b.year, b.budgetType, b.amount, b.amount,
+                b.createdAt, b.updatedAt)
+            FROM Budget b
+            WHERE b.user.id = :userId AND b.month = :month AND b.year = :year
+            """)
+    Optional<BudgetResponse> findResponseByUserIdAndMonthAndYear(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year
+    );
+
     /**
      * Check if budget exists for user/month/year
      */
     boolean existsByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
-}
\ No newline at end of file
+
+    /**
+     * Budgets from one month through another (inclusive) as DTOs, oldest first
+     * Months are compared as year * 12 + month so ranges can cross a year
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.BudgetResponse(
+                b.id, b.user.id, b.month, b.year, b.budgetType, b.amount, b.amount,
+                b.createdAt, b.updatedAt)
+            FROM Budget b
+            WHERE b.user.id = :userId
+              AND b.year * 12 + b.month BETWEEN :fromPeriod AND :toPeriod
+            ORDER BY b.year, b.month
+            """)
+    List<BudgetResponse> findResponsesInRange(
+            @Param("userId") Long userId,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod
+    );
+
+    /**
+     * Any budget from one month through another (inclusive)? Same period math as above
+     */
+    @Query("""
+            SELECT COUNT(b) > 0
+            FROM Budget b
+            WHERE b.user.id = :userId
+              AND b.year * 12 + b.month BETWEEN :fromPeriod AND :toPeriod
+            """)
+    boolean existsInRange(
+            @Param("userId") Long userId,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod
+    );
+
+    /**
+     * Budgets created or changed at or after since (delta sync, idx_budgets_user_updated)
+     * effectiveAmount filled in here, CATEGORY_SUM = the month's category budgets summed
+     * (same number GET /api/budgets gives, clients cache it)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.BudgetResponse(
+                b.id, b.user.id, b.month, b.year, b.budgetType, b.amount,
+                CASE WHEN b.budgetType = com.finance.ashipfd.model.BudgetType.CATEGORY_SUM
+                     THEN (SELECT COALESCE(SUM(cb.amount), 0)
+                           FROM CategoryBudget cb
+                           WHERE cb.user.id = b.user.id AND cb.month = b.month AND cb.year = b.year)
+                     ELSE b.amount END,
+                b.createdAt, b.updatedAt)
+            FROM Budget b
+            WHERE b.user.id = :userId AND b.updatedAt >= :since
+            ORDER BY b.updatedAt, b.id
+            """)
+    List<BudgetResponse> findResponsesChangedSince(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since
+    );
+
+    /**
+     * Stamp the month's CATEGORY_SUM budget as changed (its effective amount moved
+     * with a category budget) so the next delta sync sends the new total
+     *
+     * @return Rows touched, 0 if the month has no CATEGORY_SUM budget
+     */
+    @Modifying
+    @Query("""
+            UPDATE Budget b SET b.updatedAt = :now
+            WHERE b.user.id = :userId AND b.month = :month AND b.year = :year
+              AND b.budgetType = com.finance.ashipfd.model.BudgetType.CATEGORY_SUM
+            """)
+    int touchCategorySum(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year,
+            @Param("now") LocalDateTime now
+    );
+}
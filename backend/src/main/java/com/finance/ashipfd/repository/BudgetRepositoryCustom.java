@@ -0,0 +1,41 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.model.BudgetType;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Budget writes that are one SQL statement each (plain JDBC):
+ * - PUT /api/budgets -> atomic upsert on (user_id, month, year)
+ * - POST /api/budgets/copy and /copy-range -> ONE INSERT ... SELECT per table
+ *   no matter how many target months or categories there are
+ */
+public interface BudgetRepositoryCustom {
+
+    /**
+     * Insert the month's budget or overwrite type + amount if there already is one
+     * Concurrent PUTs for the same month can't trip the unique constraint
+     *
+     * @return The row as stored (effectiveAmount = amount, the service fills in CATEGORY_SUM)
+     */
+    BudgetResponse upsertBudget(Long userId, Integer month, Integer year, BudgetType budgetType, BigDecimal amount);
+
+    /**
+     * Copy the source month's budget row into every target month
+     *
+     * @param copyAmount false (or a CATEGORY_SUM source) -> targets get amount 0
+     * @return Number of budget rows inserted (0 if there's no source)
+     */
+    int copyBudget(Long userId, YearMonth source, List<YearMonth> targets, boolean copyAmount);
+
+    /**
+     * Copy the source month's category budgets into every target month
+     * Categories a target month already has are left alone
+     *
+     * @return Number of category budget rows inserted
+     */
+    int copyCategoryBudgets(Long userId, YearMonth source, List<YearMonth> targets);
+}
@@ -0,0 +1,160 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.model.BudgetType;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of BudgetRepositoryCustom
+ *
+ * Upsert syntax isn't portable (same split as MonthlyRollupRepositoryCustomImpl):
+ * - PostgreSQL: INSERT ... ON CONFLICT DO UPDATE ... RETURNING
+ * - Everything else (H2 in tests): MERGE wrapped in SELECT ... FROM FINAL TABLE
+ * Either way the stored row comes back from the same statement
+ *
+ * Target months go in as an inline VALUES table that the source rows are
+ * cross joined with, so a whole year of months x categories is one round trip
+ * (VALUES ... AS t(month, year) works on PostgreSQL and H2 alike)
+ *
+ * Ids come from the IDENTITY columns, createdAt/updatedAt are set here since
+ * @PrePersist doesn't run for SQL inserts
+ */
+public class BudgetRepositoryCustomImpl implements BudgetRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO budgets (user_id, month, year, budget_type, amount, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, month, year)
+            DO UPDATE SET budget_type = EXCLUDED.budget_type,
+                          amount = EXCLUDED.amount,
+                          updated_at = EXCLUDED.updated_at
+            RETURNING id, user_id, month, year, budget_type, amount, created_at, updated_at
+            """;
+
+    private static final String MERGE_UPSERT = """
+            SELECT id, user_id, month, year, budget_type, amount, created_at, updated_at
+            FROM FINAL TABLE (
+                MERGE INTO budgets b
+                USING (VALUES (CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                               CAST(? AS VARCHAR(255)), CAST(? AS NUMERIC(19,2))))
+                      AS d(user_id, month, year, budget_type, amount)
+                ON b.user_id = d.user_id AND b.month = d.month AND b.year = d.year
+                WHEN MATCHED THEN UPDATE SET budget_type = d.budget_type, amount = d.amount,
+                                             updated_at = CURRENT_TIMESTAMP
+                WHEN NOT MATCHED THEN INSERT (user_id, month, year, budget_type, amount, created_at, updated_at)
+                    VALUES (d.user_id, d.month, d.year, d.budget_type, d.amount, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            )
+            """;
+
+    private static final RowMapper<BudgetResponse> ROW_MAPPER = (rs, rowNum) -> new BudgetResponse(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getInt("month"),
+            rs.getInt("year"),
+            BudgetType.valueOf(rs.getString("budget_type")),
+            rs.getBigDecimal("amount"),
+            rs.getBigDecimal("amount"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private static final String COPY_BUDGET = """
+            INSERT INTO budgets (user_id, month, year, budget_type, amount, created_at, updated_at)
+            SELECT b.user_id, t.month, t.year, b.budget_type,
+                   CASE WHEN b.budget_type = 'GENERAL' AND CAST(? AS BOOLEAN) THEN b.amount ELSE 0 END,
+                   CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM budgets b CROSS JOIN %s
+            WHERE b.user_id = ? AND b.month = ? AND b.year = ?
+            """;
+
+    private static final String COPY_CATEGORY_BUDGETS = """
+            INSERT INTO category_budgets (user_id, month, year, category, amount, created_at, updated_at)
+            SELECT cb.user_id, t.month, t.year, cb.category, cb.amount, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+            FROM category_budgets cb CROSS JOIN %s
+            WHERE cb.user_id = ? AND cb.month = ? AND cb.year = ?
+              AND NOT EXISTS (
+                  SELECT 1 FROM category_budgets x
+                  WHERE x.user_id = cb.user_id AND x.month = t.month AND x.year = t.year
+                    AND x.category = cb.category)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public BudgetRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public BudgetResponse upsertBudget(
+            Long userId, Integer month, Integer year, BudgetType budgetType, BigDecimal amount) {
+        return jdbcTemplate.queryForObject(upsertSql(), ROW_MAPPER,
+                userId, month, year, budgetType.name(), amount);
+    }
+
+    @Override
+    public int copyBudget(Long userId, YearMonth source, List<YearMonth> targets, boolean copyAmount) {
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        args.add(copyAmount);
+        addTargets(args, targets);
+        addSource(args, userId, source);
+        return jdbcTemplate.update(COPY_BUDGET.formatted(targetTable(targets.size())), args.toArray());
+    }
+
+    @Override
+    public int copyCategoryBudgets(Long userId, YearMonth source, List<YearMonth> targets) {
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>();
+        addTargets(args, targets);
+        addSource(args, userId, source);
+        return jdbcTemplate.update(COPY_CATEGORY_BUDGETS.formatted(targetTable(targets.size())), args.toArray());
+    }
+
+    /**
+     * (VALUES (?, ?), (?, ?), ...) AS t(month, year) with one row per target month
+     */
+    private static String targetTable(int rows) {
+        StringJoiner values = new StringJoiner(", ", "(VALUES ", ") AS t(month, year)");
+        for (int i = 0; i < rows; i++) {
+            values.add("(CAST(? AS INTEGER), CAST(? AS INTEGER))");
+        }
+        return values.toString();
+    }
+
+    private static void addTargets(List<Object> args, List<YearMonth> targets) {
+        for (YearMonth target : targets) {
+            args.add(target.getMonthValue());
+            args.add(target.getYear());
+        }
+    }
+
+    private static void addSource(List<Object> args, Long userId, YearMonth source) {
+        args.add(userId);
+        args.add(source.getMonthValue());
+        args.add(source.getYear());
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
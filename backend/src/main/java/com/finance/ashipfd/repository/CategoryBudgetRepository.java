@@ -1,15 +1,25 @@
 package com.finance.ashipfd.repository;
 
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
 import com.finance.ashipfd.model.CategoryBudget;
 import com.finance.ashipfd.model.TransactionCategory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, Long> {
+public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget, Long>,
+        CategoryBudgetRepositoryCustom {
     /**
      * Find all category budgets for a user for specific month/year
      * Returns all categories budgeted for
@@ -20,6 +30,76 @@ public interface CategoryBudgetRepository extends JpaRepository<CategoryBudget,
      */
     List<CategoryBudget> findByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
 
+    /**
+     * Same rows straight into response DTOs (read paths, no managed entities)
+     * readOnly here too since the cached read calls it without a service transaction
+     */
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.CategoryBudgetResponse(
+                cb.id, cb.user.id, cb.month, cb.year, cb.category, cb.amount,
+                cb.createdAt, cb.updatedAt)
+            FROM CategoryBudget cb
+            WHERE cb.user.id = :userId AND cb.month = :month AND cb.year = :year
+            """)
+    List<CategoryBudgetResponse> findResponsesByUserIdAndMonthAndYear(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year
+    );
+
+    /**
+     * Category budgets from one month through another (inclusive) as DTOs
+     * Months are compared as year * 12 + month (see BudgetRepository.findResponsesInRange)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.CategoryBudgetResponse(
+                cb.id, cb.user.id, cb.month, cb.year, cb.category, cb.amount,
+                cb.createdAt, cb.updatedAt)
+            FROM CategoryBudget cb
+            WHERE cb.user.id = :userId
+              AND cb.year * 12 + cb.month BETWEEN :fromPeriod AND :toPeriod
+            """)
+    List<CategoryBudgetResponse> findResponsesInRange(
+            @Param("userId") Long userId,
+            @Param("fromPeriod") int fromPeriod,
+            @Param("toPeriod") int toPeriod
+    );
+
+    /**
+     * Category budgets created or changed at or after since (delta sync, idx_category_budgets_user_updated)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.CategoryBudgetResponse(
+                cb.id, cb.user.id, cb.month, cb.year, cb.category, cb.amount,
+                cb.createdAt, cb.updatedAt)
+            FROM CategoryBudget cb
+            WHERE cb.user.id = :userId AND cb.updatedAt >= :since
+            ORDER BY cb.updatedAt, cb.id
+            """)
+    List<CategoryBudgetResponse> findResponsesChangedSince(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since
+    );
+
+    /**
+     * Sum of all category budget amounts for a month (0 if none)
+     * Done in the db -> one number back instead of every CategoryBudget entity
+     */
+    @Query("""
+            SELECT COALESCE(SUM(cb.amount), 0)
+            FROM CategoryBudget cb
+            WHERE cb.user.id = :userId AND cb.month = :month AND cb.year = :year
+            """)
+    BigDecimal sumAmountByUserIdAndMonthAndYear(
+            @Param("userId") Long userId,
+            @Param("month") Integer month,
+            @Param("year") Integer year
+    );
+
     /**
      * Find specific category budget
      * @param userId
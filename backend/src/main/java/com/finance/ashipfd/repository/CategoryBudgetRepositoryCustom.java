@@ -0,0 +1,36 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.model.TransactionCategory;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Category budget writes as single statements / JDBC batches (plain JDBC, like BudgetRepositoryCustom)
+ */
+public interface CategoryBudgetRepositoryCustom {
+
+    /**
+     * Insert the month's budget for that category or overwrite its amount
+     * Concurrent PUTs for the same category can't trip the unique constraint
+     *
+     * @return The row as stored
+     */
+    CategoryBudgetResponse upsertCategoryBudget(
+            Long userId, Integer month, Integer year, TransactionCategory category, BigDecimal amount);
+
+    /**
+     * Upsert every category in amounts for the month, sent as ONE JDBC batch
+     */
+    void upsertCategoryBudgets(Long userId, Integer month, Integer year, Map<TransactionCategory, BigDecimal> amounts);
+
+    /**
+     * Delete the month's category budgets except the ones in keep (empty keep = all of them)
+     * Writes a sync tombstone per deleted row first (INSERT ... SELECT, same filter) - 2 statements
+     *
+     * @return Number of rows deleted
+     */
+    int deleteCategoryBudgetsExcept(Long userId, Integer month, Integer year, Set<TransactionCategory> keep);
+}
@@ -0,0 +1,133 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.model.TransactionCategory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * JDBC implementation of CategoryBudgetRepositoryCustom
+ * Same PostgreSQL / MERGE split as BudgetRepositoryCustomImpl, keyed on
+ * (user_id, month, year, category)
+ *
+ * The bulk upsert is the same statement sent as one JDBC batch, so a whole
+ * month of categories is one round trip
+ */
+public class CategoryBudgetRepositoryCustomImpl implements CategoryBudgetRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO category_budgets (user_id, month, year, category, amount, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT (user_id, month, year, category)
+            DO UPDATE SET amount = EXCLUDED.amount,
+                          updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String MERGE_UPSERT = """
+            MERGE INTO category_budgets cb
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                           CAST(? AS VARCHAR(255)), CAST(? AS NUMERIC(19,2))))
+                  AS d(user_id, month, year, category, amount)
+            ON cb.user_id = d.user_id AND cb.month = d.month AND cb.year = d.year
+               AND cb.category = d.category
+            WHEN MATCHED THEN UPDATE SET amount = d.amount, updated_at = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (user_id, month, year, category, amount, created_at, updated_at)
+                VALUES (d.user_id, d.month, d.year, d.category, d.amount, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    /**
+     * Same upserts, but the stored row comes back from the statement
+     */
+    private static final String POSTGRES_UPSERT_RETURNING = POSTGRES_UPSERT
+            + "RETURNING id, user_id, month, year, category, amount, created_at, updated_at";
+
+    private static final String MERGE_UPSERT_RETURNING =
+            "SELECT id, user_id, month, year, category, amount, created_at, updated_at FROM FINAL TABLE ("
+                    + MERGE_UPSERT + ")";
+
+    private static final String DELETE_MONTH = """
+            DELETE FROM category_budgets
+            WHERE user_id = ? AND month = ? AND year = ?
+            """;
+
+    /**
+     * Tombstones for exactly the rows DELETE_MONTH (+ the same extra filter) is about to remove
+     */
+    private static final String TOMBSTONE_MONTH = """
+            INSERT INTO sync_tombstones (user_id, entity_type, entity_id, deleted_at)
+            SELECT user_id, 'CATEGORY_BUDGET', id, CURRENT_TIMESTAMP
+            FROM category_budgets
+            WHERE user_id = ? AND month = ? AND year = ?
+            """;
+
+    private static final RowMapper<CategoryBudgetResponse> ROW_MAPPER = (rs, rowNum) -> new CategoryBudgetResponse(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getInt("month"),
+            rs.getInt("year"),
+            TransactionCategory.valueOf(rs.getString("category")),
+            rs.getBigDecimal("amount"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public CategoryBudgetRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public CategoryBudgetResponse upsertCategoryBudget(
+            Long userId, Integer month, Integer year, TransactionCategory category, BigDecimal amount) {
+        return jdbcTemplate.queryForObject(isPostgres() ? POSTGRES_UPSERT_RETURNING : MERGE_UPSERT_RETURNING,
+                ROW_MAPPER, userId, month, year, category.name(), amount);
+    }
+
+    @Override
+    public void upsertCategoryBudgets(
+            Long userId, Integer month, Integer year, Map<TransactionCategory, BigDecimal> amounts) {
+        if (amounts.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(amounts.size());
+        for (Map.Entry<TransactionCategory, BigDecimal> entry : amounts.entrySet()) {
+            args.add(new Object[]{userId, month, year, entry.getKey().name(), entry.getValue()});
+        }
+        jdbcTemplate.batchUpdate(isPostgres() ? POSTGRES_UPSERT : MERGE_UPSERT, args);
+    }
+
+    @Override
+    public int deleteCategoryBudgetsExcept(
+            Long userId, Integer month, Integer year, Set<TransactionCategory> keep) {
+        StringJoiner filter = new StringJoiner(", ", "AND category NOT IN (", ")").setEmptyValue("");
+        List<Object> args = new ArrayList<>(List.of(userId, month, year));
+        for (TransactionCategory category : keep) {
+            filter.add("?");
+            args.add(category.name());
+        }
+        // Same transaction, same WHERE -> one tombstone per deleted row
+        jdbcTemplate.update(TOMBSTONE_MONTH + filter, args.toArray());
+        return jdbcTemplate.update(DELETE_MONTH + filter, args.toArray());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
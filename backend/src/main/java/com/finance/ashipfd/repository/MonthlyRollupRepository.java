@@ -0,0 +1,47 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.CategoryTotal;
+import com.finance.ashipfd.model.MonthlyCategoryTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repo for the monthly_category_totals rollup
+ * Reads are plain JPQL, writes live in MonthlyRollupRepositoryCustomImpl
+ */
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyCategoryTotal, Long>,
+        MonthlyRollupRepositoryCustom {
+
+    /**
+     * Non-empty buckets for one month, straight into DTOs (biggest first)
+     */
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.CategoryTotal(r.category, r.type, r.total, r.txnCount)
+            FROM MonthlyCategoryTotal r
+            WHERE r.user.id = :userId AND r.year = :year AND r.month = :month
+              AND r.txnCount > 0
+            ORDER BY r.total DESC
+            """)
+    List<CategoryTotal> findTotals(
+            @Param("userId") Long userId,
+            @Param("year") Integer year,
+            @Param("month") Integer month
+    );
+
+    /**
+     * Every bucket a user has (for drift checks)
+     * Projection, not entities -> always the current row values, never a cached entity
+     */
+    @Query("""
+            SELECT new com.finance.ashipfd.repository.RollupDelta(
+                r.user.id, r.year, r.month, r.category, r.type, r.total, r.txnCount)
+            FROM MonthlyCategoryTotal r
+            WHERE r.user.id = :userId
+            """)
+    List<RollupDelta> findBucketsByUserId(@Param("userId") Long userId);
+}
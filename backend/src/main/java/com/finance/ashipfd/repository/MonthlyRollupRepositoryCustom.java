@@ -0,0 +1,24 @@
+package com.finance.ashipfd.repository;
+
+import java.util.Collection;
+
+/**
+ * Write side of the rollup table
+ * Plain JDBC so each bucket update is ONE atomic upsert (no read-modify-write race)
+ */
+public interface MonthlyRollupRepositoryCustom {
+
+    /**
+     * Add each delta onto its bucket, creating the bucket if it doesn't exist yet
+     * Joins whatever db transaction is already running
+     */
+    void applyDeltas(Collection<RollupDelta> deltas);
+
+    /**
+     * Throw away a user's buckets and recompute them from raw transactions
+     * (INSERT ... SELECT ... GROUP BY, all in the db)
+     *
+     * @return Number of buckets written
+     */
+    int rebuildForUser(Long userId);
+}
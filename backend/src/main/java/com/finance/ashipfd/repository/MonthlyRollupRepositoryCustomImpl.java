@@ -0,0 +1,95 @@
+package com.finance.ashipfd.repository;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC implementation of MonthlyRollupRepositoryCustom
+ *
+ * Upsert syntax isn't portable:
+ * - PostgreSQL: INSERT ... ON CONFLICT DO UPDATE (safe under concurrent inserts)
+ * - Everything else (H2 in tests): standard MERGE
+ * We check which db we're on once and pick the statement
+ */
+public class MonthlyRollupRepositoryCustomImpl implements MonthlyRollupRepositoryCustom {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO monthly_category_totals (user_id, year, month, category, type, total, txn_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, year, month, category, type)
+            DO UPDATE SET total = monthly_category_totals.total + EXCLUDED.total,
+                          txn_count = monthly_category_totals.txn_count + EXCLUDED.txn_count
+            """;
+
+    private static final String MERGE_UPSERT = """
+            MERGE INTO monthly_category_totals m
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS INTEGER), CAST(? AS INTEGER),
+                           CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(255)),
+                           CAST(? AS NUMERIC(19,2)), CAST(? AS BIGINT)))
+                  AS d(user_id, year, month, category, type, total, txn_count)
+            ON m.user_id = d.user_id AND m.year = d.year AND m.month = d.month
+               AND m.category = d.category AND m.type = d.type
+            WHEN MATCHED THEN UPDATE SET total = m.total + d.total, txn_count = m.txn_count + d.txn_count
+            WHEN NOT MATCHED THEN INSERT (user_id, year, month, category, type, total, txn_count)
+                VALUES (d.user_id, d.year, d.month, d.category, d.type, d.total, d.txn_count)
+            """;
+
+    private static final String DELETE_FOR_USER = "DELETE FROM monthly_category_totals WHERE user_id = ?";
+
+    private static final String REBUILD_FOR_USER = """
+            INSERT INTO monthly_category_totals (user_id, year, month, category, type, total, txn_count)
+            SELECT user_id,
+                   CAST(EXTRACT(YEAR FROM transaction_date) AS INTEGER),
+                   CAST(EXTRACT(MONTH FROM transaction_date) AS INTEGER),
+                   category, type, SUM(amount), COUNT(*)
+            FROM transactions
+            WHERE user_id = ?
+            GROUP BY user_id,
+                     CAST(EXTRACT(YEAR FROM transaction_date) AS INTEGER),
+                     CAST(EXTRACT(MONTH FROM transaction_date) AS INTEGER),
+                     category, type
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    public MonthlyRollupRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(Collection<RollupDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (RollupDelta d : deltas) {
+            args.add(new Object[]{
+                    d.userId(), d.year(), d.month(), d.category().name(), d.type().name(), d.amount(), d.count()
+            });
+        }
+        jdbcTemplate.batchUpdate(upsertSql(), args);
+    }
+
+    @Override
+    public int rebuildForUser(Long userId) {
+        jdbcTemplate.update(DELETE_FOR_USER, userId);
+        return jdbcTemplate.update(REBUILD_FOR_USER, userId);
+    }
+
+    private String upsertSql() {
+        String sql = upsertSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            sql = "PostgreSQL".equalsIgnoreCase(product) ? POSTGRES_UPSERT : MERGE_UPSERT;
+            upsertSql = sql;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,21 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+
+import java.math.BigDecimal;
+
+/**
+ * Change to apply to one monthly_category_totals bucket
+ * amount/count can be negative (delete, or moving out of a bucket)
+ */
+public record RollupDelta(
+        Long userId,
+        Integer year,
+        Integer month,
+        TransactionCategory category,
+        TransactionType type,
+        BigDecimal amount,
+        Long count
+) {
+}
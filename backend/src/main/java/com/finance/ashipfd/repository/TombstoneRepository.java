@@ -0,0 +1,40 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.TombstoneResponse;
+import com.finance.ashipfd.model.Tombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TombstoneRepository extends JpaRepository<Tombstone, Long> {
+
+    /**
+     * User's deletes at or after since, oldest first (idx_sync_tombstones_user_deleted)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TombstoneResponse(t.entityType, t.entityId, t.deletedAt)
+            FROM Tombstone t
+            WHERE t.userId = :userId AND t.deletedAt >= :since
+            ORDER BY t.deletedAt
+            """)
+    List<TombstoneResponse> findResponsesSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+
+    /**
+     * Drop tombstones older than cutoff, one bulk DELETE
+     *
+     * @return Rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM Tombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
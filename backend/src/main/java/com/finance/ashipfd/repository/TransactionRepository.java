@@ -1,12 +1,25 @@
 package com.finance.ashipfd.repository;
 
+import com.finance.ashipfd.dto.CategoryTotal;
+import com.finance.ashipfd.dto.TransactionResponse;
 import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionCategory;
 import com.finance.ashipfd.model.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * TransactionRepository
@@ -21,9 +34,13 @@ import java.util.List;
  * - findBy[Field]Between             --> Range queries
  *
  * Spring generates the SQL automatically!
+ *
+ * For combinable filters see TransactionSpecifications (JpaSpecificationExecutor)
+ * and TransactionRepositoryCustom.findResponses for the DTO version
  */
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>,
+        JpaSpecificationExecutor<Transaction>, TransactionRepositoryCustom {
     /**
      * Find all transactions for a specific user
      * Ordered by transaction date (newest first)
@@ -37,6 +54,168 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
             Long userId
     );
 
+    /**
+     * All of a user's transactions straight into response DTOs (newest first)
+     *
+     * Constructor expression -> no entities, nothing in the persistence context,
+     * no dirty-checking snapshot per row. Same for every *Responses* query below
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.user.id = :userId
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TransactionResponse> findResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * First page for cursor pagination
+     * id breaks ties so the order is stable across pages
+     *
+     * Generated SQL:
+     * SELECT id, user_id, amount, ... FROM transactions
+     * WHERE user_id = ?
+     * ORDER BY created_at DESC, id DESC
+     * FETCH FIRST ? ROWS ONLY
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.user.id = :userId
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TransactionResponse> findResponsePage(
+            @Param("userId") Long userId,
+            Limit limit
+    );
+
+    /**
+     * Next page for cursor pagination ("seek" instead of OFFSET)
+     * Picks up strictly AFTER the (createdAt, id) of the last row the client saw
+     * Walks idx_transactions_user_created_id so cost doesn't grow with page number
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.user.id = :userId
+              AND (t.createdAt < :createdAt
+                   OR (t.createdAt = :createdAt AND t.id < :id))
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TransactionResponse> findResponsePageAfterCursor(
+            @Param("userId") Long userId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+
+    /**
+     * One transaction as a DTO, only if it belongs to the user
+     * (someone else's id looks the same as a missing one)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.id = :id AND t.user.id = :userId
+            """)
+    Optional<TransactionResponse> findResponseByIdAndUserId(
+            @Param("id") Long id,
+            @Param("userId") Long userId
+    );
+
+    /**
+     * Stream ALL of a user's transactions for export (newest first)
+     *
+     * Rows are pulled from the db in chunks of fetchSize instead of all at once
+     * DTO rows -> nothing is attached to the persistence context, so nothing to detach
+     *
+     * MUST be called inside a transaction and the Stream MUST be closed
+     * (try-with-resources) or the connection/cursor leaks
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.user.id = :userId
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    Stream<TransactionResponse> streamResponsesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Transactions created or changed at or after since, oldest change first
+     * Delta sync (SyncService) - seeks idx_transactions_user_updated
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.TransactionResponse(
+                t.id, t.user.id, t.amount, t.type, t.category,
+                t.description, t.transactionDate, t.createdAt)
+            FROM Transaction t
+            WHERE t.user.id = :userId AND t.updatedAt >= :since
+            ORDER BY t.updatedAt, t.id
+            """)
+    List<TransactionResponse> findResponsesChangedSince(
+            @Param("userId") Long userId,
+            @Param("since") LocalDateTime since
+    );
+
+    /**
+     * Per (category, type) totals for a date range - the db does the math
+     * Returns a handful of DTO rows instead of every transaction entity
+     * Range is [startDate, endDate) so callers can pass the 1st of next month
+     *
+     * Generated SQL (roughly):
+     * SELECT category, type, SUM(amount), COUNT(*) FROM transactions
+     * WHERE user_id = ? AND transaction_date >= ? AND transaction_date < ?
+     * GROUP BY category, type
+     */
+    @Query("""
+            SELECT new com.finance.ashipfd.dto.CategoryTotal(t.category, t.type, SUM(t.amount), COUNT(t))
+            FROM Transaction t
+            WHERE t.user.id = :userId
+              AND t.transactionDate >= :startDate
+              AND t.transactionDate < :endDate
+            GROUP BY t.category, t.type
+            ORDER BY SUM(t.amount) DESC
+            """)
+    List<CategoryTotal> sumByCategoryAndType(
+            @Param("userId") Long userId,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Same buckets as monthly_category_totals but computed from raw rows
+     * Only used to check the rollup for drift (MonthlyRollupService.verify)
+     */
+    @Query("""
+            SELECT new com.finance.ashipfd.repository.RollupDelta(
+                t.user.id, year(t.transactionDate), month(t.transactionDate),
+                t.category, t.type, SUM(t.amount), COUNT(t))
+            FROM Transaction t
+            WHERE t.user.id = :userId
+            GROUP BY t.user.id, year(t.transactionDate), month(t.transactionDate), t.category, t.type
+            """)
+    List<RollupDelta> aggregateMonthlyBuckets(@Param("userId") Long userId);
+
     /**
      * Find transactions by user and type (INCOME or EXPENSE)
      *
@@ -77,6 +256,6 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
     List<Transaction>
     findByUserIdAndCategoryOrderByTransactionDateDesc(
             Long userId,
-            String category
+            TransactionCategory category
     );
 }
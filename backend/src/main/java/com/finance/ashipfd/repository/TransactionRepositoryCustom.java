@@ -0,0 +1,24 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.model.Transaction;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Filtered reads that go straight into DTOs
+ * JpaSpecificationExecutor only hands back entities, so this builds the
+ * Criteria query itself with the same Specifications
+ */
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Rows matching spec as response DTOs, newest first (createdAt DESC, id DESC)
+     *
+     * @param spec WHERE clause (see TransactionSpecifications)
+     * @param limit Max rows, Limit.unlimited() for all of them
+     */
+    List<TransactionResponse> findResponses(Specification<Transaction> spec, Limit limit);
+}
@@ -0,0 +1,55 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.model.Transaction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Criteria implementation of TransactionRepositoryCustom
+ *
+ * SELECT new TransactionResponse(...) FROM Transaction t WHERE <spec> ORDER BY ...
+ * built with cb.construct so the Specifications work unchanged
+ */
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public TransactionRepositoryCustomImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TransactionResponse> findResponses(Specification<Transaction> spec, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> t = query.from(Transaction.class);
+
+        query.select(cb.construct(TransactionResponse.class,
+                t.get("id"),
+                t.get("user").get("id"),
+                t.get("amount"),
+                t.get("type"),
+                t.get("category"),
+                t.get("description"),
+                t.get("transactionDate"),
+                t.get("createdAt")));
+        query.where(spec.toPredicate(t, query, cb));
+        query.orderBy(cb.desc(t.get("createdAt")), cb.desc(t.get("id")));
+
+        TypedQuery<TransactionResponse> typed = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (limit.isLimited()) {
+            typed.setMaxResults(limit.max());
+        }
+        return typed.getResultList();
+    }
+}
@@ -0,0 +1,127 @@
+package com.finance.ashipfd.repository;
+
+import com.finance.ashipfd.dto.TransactionFilter;
+import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * TransactionSpecifications
+ *
+ * Building blocks for dynamic transaction queries (JPA Criteria under the hood)
+ * Each one is a single WHERE clause, and they chain with .and(...)
+ *
+ * WHY not more findByXAndYAndZ methods?
+ * - Filters are all optional and combinable, that'd be 2^6 methods lol
+ * - One Specification = one SQL query with only the clauses that were asked for
+ *
+ * Indexes that back these:
+ * - idx_transactions_user_date           (user_id, transaction_date)
+ * - idx_transactions_user_category_date  (user_id, category, transaction_date)
+ */
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Every query MUST start with this one (users only see their own stuff)
+     */
+    public static Specification<Transaction> belongsTo(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static Specification<Transaction> dateFrom(LocalDate startDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), startDate);
+    }
+
+    public static Specification<Transaction> dateTo(LocalDate endDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("transactionDate"), endDate);
+    }
+
+    public static Specification<Transaction> hasType(TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> inCategories(Set<TransactionCategory> categories) {
+        return (root, query, cb) -> root.get("category").in(categories);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    /**
+     * Case-insensitive LIKE %text%
+     * % and _ in the user's text are escaped so they match literally
+     */
+    public static Specification<Transaction> descriptionContains(String text) {
+        String escaped = text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+
+        return (root, query, cb) -> cb.like(
+                cb.lower(root.get("description")), "%" + escaped + "%", '\\');
+    }
+
+    /**
+     * Seek predicate for cursor pagination: rows strictly after (createdAt, id)
+     * in createdAt DESC, id DESC order
+     */
+    public static Specification<Transaction> after(LocalDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)
+                )
+        );
+    }
+
+    /**
+     * Turn a filter DTO into one combined Specification
+     * Only the fields that are set make it into the WHERE clause
+     */
+    public static Specification<Transaction> matching(Long userId, TransactionFilter filter) {
+        Specification<Transaction> spec = belongsTo(userId);
+
+        if (filter == null) {
+            return spec;
+        }
+        if (filter.getStartDate() != null) {
+            spec = spec.and(dateFrom(filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            spec = spec.and(dateTo(filter.getEndDate()));
+        }
+        if (filter.getType() != null) {
+            spec = spec.and(hasType(filter.getType()));
+        }
+        if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+            spec = spec.and(inCategories(filter.getCategories()));
+        }
+        if (filter.getMinAmount() != null) {
+            spec = spec.and(amountAtLeast(filter.getMinAmount()));
+        }
+        if (filter.getMaxAmount() != null) {
+            spec = spec.and(amountAtMost(filter.getMaxAmount()));
+        }
+        if (filter.getDescription() != null && !filter.getDescription().isBlank()) {
+            spec = spec.and(descriptionContains(filter.getDescription().trim()));
+        }
+
+        return spec;
+    }
+}
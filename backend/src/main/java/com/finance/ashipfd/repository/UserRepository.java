@@ -2,7 +2,12 @@ package com.finance.ashipfd.repository;
 
 import com.finance.ashipfd.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -34,4 +39,25 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Just the ids (no entities) - for background jobs that loop over every user
+     */
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+
+
+    /**
+     * Swap the password hash, but only if it's still oldHash (compare-and-set)
+     * Used to upgrade BCrypt cost after login without clobbering a concurrent password change
+     *
+     * @return 1 if updated, 0 if the hash had already changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(
+            @Param("id") Long id,
+            @Param("oldHash") String oldHash,
+            @Param("newHash") String newHash
+    );
 }
@@ -25,17 +25,17 @@ import java.util.ArrayList;
  *
  *  WHAT THIS FILTER ACTUALLY DO ?
  *  1. EXTRACT JWT token from auth header
- *  2. VALIDATE the token
- *  3. EXTRACT user info from token
- *  4. Tells Spring Security: "Trust me man this user is authenticated"
+ *  2. VALIDATE the token + EXTRACT user info from it (one parse, one signature check,
+ *     skipped entirely if VerifiedTokenCache has seen this token already)
+ *  3. Tells Spring Security: "Trust me man this user is authenticated"
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
+    public JwtAuthenticationFilter(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
     }
 
     @Override
@@ -58,25 +58,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String token = header.substring(7);
 
         try {
-            if (jwtUtil.validateToken(token)) {
-                String email = jwtUtil.getEmailFromToken(token);
-                Long userId = jwtUtil.getUserIdFromToken(token);
+            // Throws if the token is invalid/expired/revoked, so anything after this line is verified
+            VerifiedToken verified = tokenCache.verify(token);
 
-                // Create auth object
-                UsernamePasswordAuthenticationToken auth =
-                        new UsernamePasswordAuthenticationToken(
-                                userId,
-                                null,
-                                new ArrayList<>()
-                        );
-                // Add request details
-                auth.setDetails(
-                        new WebAuthenticationDetailsSource().buildDetails(req)
-                );
+            // Create auth object
+            UsernamePasswordAuthenticationToken auth =
+                    new UsernamePasswordAuthenticationToken(
+                            verified.userId(),
+                            null,
+                            new ArrayList<>()
+                    );
+            // Add request details
+            auth.setDetails(
+                    new WebAuthenticationDetailsSource().buildDetails(req)
+            );
 
-                // Put auth in securityContext
-                SecurityContextHolder.getContext().setAuthentication(auth);
-            }
+            // Put auth in securityContext
+            SecurityContextHolder.getContext().setAuthentication(auth);
         } catch (Exception e) {
             // Token validation failed - silently continue without auth
             // The sec filter chain will handle unauthorized access
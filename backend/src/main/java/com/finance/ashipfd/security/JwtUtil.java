@@ -1,12 +1,16 @@
 package com.finance.ashipfd.security;
 
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 /**
@@ -14,7 +18,10 @@ import java.util.Date;
  *
  * - Generate JWT token when user logs in
  * - Sign tokens so they can't be forged
- * - Will be used later to verify / decode tokens
+ * - Verify / decode tokens (parse)
+ *
+ * The HMAC key and the parser are built ONCE at startup - both are
+ * immutable + thread-safe, no point rebuilding them per request
  *
  * @Component = BEANIFY it to inject into services
  *
@@ -22,10 +29,17 @@ import java.util.Date;
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-    @Value("${jwt.expiration}")
-    private long expirationTime;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationTime;
+
+    public JwtUtil(
+            @Value("${jwt.secret}") String secretKey,
+            @Value("${jwt.expiration}") long expirationTime) {
+        this.key = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.expirationTime = expirationTime;
+    }
 
     /**
      * Returns a token
@@ -37,8 +51,6 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryTime = new Date(now.getTime() + expirationTime);
 
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
-
         return Jwts.builder().subject(email)
                 .claim("userId", userId)
                 .issuedAt(now)
@@ -47,36 +59,33 @@ public class JwtUtil {
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
+    /**
+     * Verify the signature + expiry ONCE and hand back everything we need from it
+     *
+     * @param token Raw JWT (no "Bearer " prefix)
+     * @return Verified claims
+     * @throws JwtException if the token is bad/expired/tampered with
+     */
+    public VerifiedToken parse(String token) {
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        Long userId = claims.get("userId", Long.class);
+        if (userId == null) {
+            throw new JwtException("Token has no userId claim");
+        }
+        return new VerifiedToken(claims.getSubject(), userId, claims.getExpiration());
+    }
 
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public String getEmailFromToken(String token) {
+        return parse(token).email();
     }
 
     public Long getUserIdFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
-
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("userId", Long.class);
+        return parse(token).userId();
     }
 
     public boolean validateToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secretKey.getBytes());
-
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            parse(token);
             return true;
         } catch (Exception e) {
             return false;
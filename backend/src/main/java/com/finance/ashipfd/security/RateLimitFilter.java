@@ -0,0 +1,96 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.config.RateLimitProperties;
+import com.finance.ashipfd.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limit filter
+ * Runs right AFTER JwtAuthenticationFilter so it knows who the user is
+ *
+ * - Route with key=USER -> bucket per userId (per IP if not logged in)
+ * - Route with key=IP   -> bucket per client IP (login/register)
+ * - Over the limit -> 429 + Retry-After (seconds), same JSON as GlobalExceptionHandler
+ * - Every limited response gets RateLimit-Limit / RateLimit-Remaining
+ *
+ * NOT a @Component on purpose - Spring Boot would also register it as a plain
+ * servlet filter, where it could run before the JWT filter. SecurityConfig
+ * creates it and puts it in the security chain only.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest req) {
+        return !rateLimiter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest req,
+            HttpServletResponse res,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.resolve(req.getRequestURI().substring(req.getContextPath().length()));
+        if (route == null) {
+            filterChain.doFilter(req, res);
+            return;
+        }
+
+        RateLimiter.Decision decision = rateLimiter.tryAcquire(route, clientKey(route, req));
+        res.setHeader("RateLimit-Limit", String.valueOf(decision.limit()));
+        res.setHeader("RateLimit-Remaining", String.valueOf(decision.remaining()));
+
+        if (decision.allowed()) {
+            filterChain.doFilter(req, res);
+            return;
+        }
+
+        // Round up - telling a client "0" just makes it retry straight away
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(decision.retryAfterNanos() + 999_999_999L));
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        res.setStatus(status.value());
+        res.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(res.getOutputStream(), new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                "Rate limit exceeded, retry in " + retryAfterSeconds + "s"
+        ));
+    }
+
+    /**
+     * "u:<userId>" or "ip:<address>"
+     */
+    private String clientKey(RateLimiter.Route route, HttpServletRequest req) {
+        if (route.key() == RateLimitProperties.KeyType.USER) {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+            if (auth != null && auth.getPrincipal() instanceof Long userId) {
+                return "u:" + userId;
+            }
+        }
+        return "ip:" + req.getRemoteAddr();
+    }
+}
@@ -0,0 +1,154 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * RateLimiter
+ * Per-route, per-user (or per-IP) token buckets
+ *
+ * HOW A BUCKET WORKS:
+ * Each bucket is ONE AtomicLong - the "theoretical arrival time" (GCRA,
+ * the same math as a token bucket without a separate refill step):
+ * - every request pushes it forward by period / limit
+ * - if that would put it more than one period ahead of now, the bucket is
+ *   empty -> reject, and how far over it is = Retry-After
+ * - CAS loop, no locks, so threads hitting the same user never block each other
+ *
+ * MEMORY:
+ * Buckets live in a Caffeine cache bounded by max-buckets, and any bucket
+ * idle for idle-timeout is dropped. After a full period of no requests a
+ * bucket is back to full, so dropping it loses nothing.
+ */
+@Component
+public class RateLimiter {
+
+    /**
+     * One configured route, pattern already parsed
+     */
+    public record Route(String name, PathPattern pattern, RateLimitProperties.KeyType key,
+                        int limit, long periodNanos, long intervalNanos) {
+    }
+
+    /**
+     * @param remaining requests left right now (after this one)
+     * @param retryAfterNanos 0 if allowed, else how long until one request fits
+     */
+    public record Decision(boolean allowed, int limit, long remaining, long retryAfterNanos) {
+    }
+
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejected = new LongAdder();
+
+    @Autowired
+    public RateLimiter(RateLimitProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    /**
+     * Tests pass a fake clock
+     */
+    RateLimiter(RateLimitProperties properties, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        this.clock = clock;
+        this.routes = parseRoutes(properties);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .ticker(clock::getAsLong)
+                .build();
+    }
+
+    private static List<Route> parseRoutes(RateLimitProperties properties) {
+        PathPatternParser parser = new PathPatternParser();
+        List<Route> parsed = new ArrayList<>();
+        for (RateLimitProperties.Route r : properties.getRoutes()) {
+            if (r.getLimit() <= 0) {
+                throw new IllegalArgumentException("rate-limit route '" + r.getName() + "' needs a limit > 0");
+            }
+            long periodNanos = r.getPeriod().toNanos();
+            if (r.getPeriod().compareTo(properties.getIdleTimeout()) > 0) {
+                // Evicting a bucket that isn't full yet would hand out a fresh burst
+                throw new IllegalArgumentException("rate-limit.idle-timeout must be >= every route period ('"
+                        + r.getName() + "' is " + r.getPeriod() + ")");
+            }
+            parsed.add(new Route(r.getName(), parser.parse(r.getPattern()), r.getKey(),
+                    r.getLimit(), periodNanos, periodNanos / r.getLimit()));
+        }
+        return List.copyOf(parsed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * First configured route matching the path, null = not rate limited
+     */
+    public Route resolve(String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        for (Route route : routes) {
+            if (route.pattern().matches(container)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take one token from (route, key)'s bucket if there is one
+     */
+    public Decision tryAcquire(Route route, String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(route.name() + '|' + key, k -> new AtomicLong(now));
+
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + route.intervalNanos();
+            long ahead = newTat - now;
+
+            if (ahead > route.periodNanos()) {
+                rejected.increment();
+                return new Decision(false, route.limit(), 0, ahead - route.periodNanos());
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                long remaining = (route.periodNanos() - ahead) / route.intervalNanos();
+                return new Decision(true, route.limit(), remaining, 0);
+            }
+            // Another thread took a token in between, retry with the new value
+        }
+    }
+
+    /**
+     * Buckets currently held (approximate)
+     */
+    public long bucketCount() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Requests turned away with a 429 since startup
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    void cleanUp() {
+        buckets.cleanUp();
+    }
+}
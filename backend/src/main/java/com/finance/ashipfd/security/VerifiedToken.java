@@ -0,0 +1,14 @@
+package com.finance.ashipfd.security;
+
+import java.util.Date;
+
+/**
+ * Claims from a JWT whose signature + expiry already checked out
+ * (only JwtUtil.parse makes these)
+ *
+ * @param email subject claim
+ * @param userId userId claim
+ * @param expiresAt exp claim
+ */
+public record VerifiedToken(String email, Long userId, Date expiresAt) {
+}
@@ -0,0 +1,174 @@
+package com.finance.ashipfd.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.finance.ashipfd.exception.RevocationCapacityExceededException;
+import io.jsonwebtoken.JwtException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * VerifiedTokenCache
+ *
+ * The dashboard fires bursts of requests with the same bearer token,
+ * so remember tokens we've already verified and skip the HMAC + JSON
+ * parsing on repeats
+ *
+ * - Key = SHA-256 of the token (raw tokens never sit in the cache)
+ * - Entry lives until the token's exp or max-ttl, whichever comes first,
+ *   so a cache hit can never hand back an expired token
+ * - Bounded by max-size
+ *
+ * REVOCATION:
+ * revoke(token) drops the entry AND puts the digest on a denylist until
+ * the token's own exp (after that the signature check rejects it anyway)
+ * The denylist is never size-evicted - evicting a revoked token would make
+ * it valid again. max-size only bounds memory: a full denylist refuses new
+ * revocations (logout gets a 503) instead of forgetting old ones
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final Logger log = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    /**
+     * @param hits served from the cache, no signature check
+     * @param misses had to run JwtUtil.parse
+     * @param revokedRejections requests turned away because their token was revoked
+     */
+    public record Stats(long hits, long misses, long revokedRejections, long size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> verified;
+    private final Cache<String, VerifiedToken> revoked;
+    private final long revokedMaxSize;
+
+    private final AtomicLong revokedRejections = new AtomicLong();
+
+    @Autowired
+    public VerifiedTokenCache(
+            JwtUtil jwtUtil,
+            @Value("${jwt.cache.max-size:10000}") long maxSize,
+            @Value("${jwt.cache.max-ttl:5m}") Duration maxTtl,
+            @Value("${jwt.revocation.max-size:100000}") long revokedMaxSize) {
+        this.jwtUtil = jwtUtil;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(untilTokenExpires(maxTtl.toNanos()))
+                .recordStats()
+                .build();
+        // No maximumSize on purpose: entries only leave at their token's exp
+        this.revoked = Caffeine.newBuilder()
+                .expireAfter(untilTokenExpires(Long.MAX_VALUE))
+                .build();
+        this.revokedMaxSize = revokedMaxSize;
+    }
+
+    /**
+     * Same contract as JwtUtil.parse, but repeat tokens skip verification
+     *
+     * @throws JwtException if the token is invalid, expired or revoked
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+
+        if (revoked.getIfPresent(digest) != null) {
+            revokedRejections.incrementAndGet();
+            throw new JwtException("Token has been revoked");
+        }
+
+        VerifiedToken cached = verified.getIfPresent(digest);
+        if (cached != null && cached.expiresAt().getTime() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        VerifiedToken fresh = jwtUtil.parse(token);
+        verified.put(digest, fresh);
+        return fresh;
+    }
+
+    /**
+     * Stop accepting this token (logout)
+     * Invalid/expired tokens are already rejected, nothing to do for those
+     *
+     * @throws RevocationCapacityExceededException if the denylist is full - the token stays valid
+     */
+    public void revoke(String token) {
+        VerifiedToken parsed;
+        try {
+            parsed = jwtUtil.parse(token);
+        } catch (JwtException e) {
+            return;
+        }
+        String digest = digest(token);
+        if (revoked.getIfPresent(digest) != null) {
+            return;
+        }
+        if (revoked.estimatedSize() >= revokedMaxSize) {
+            // Count can include expired entries not swept yet
+            revoked.cleanUp();
+            if (revoked.estimatedSize() >= revokedMaxSize) {
+                log.error("Token denylist full ({} entries), refusing to revoke a token for user {} - "
+                        + "raise jwt.revocation.max-size or shorten jwt.expiration", revokedMaxSize, parsed.userId());
+                throw new RevocationCapacityExceededException();
+            }
+        }
+        revoked.put(digest, parsed);
+        verified.invalidate(digest);
+    }
+
+    public Stats stats() {
+        com.github.benmanes.caffeine.cache.stats.CacheStats s = verified.stats();
+        return new Stats(s.hitCount(), s.missCount(), revokedRejections.get(), verified.estimatedSize());
+    }
+
+    /**
+     * Expire each entry at its token's exp, capped at maxTtlNanos
+     */
+    private static Expiry<String, VerifiedToken> untilTokenExpires(long maxTtlNanos) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                long untilExp = TimeUnit.MILLISECONDS.toNanos(
+                        value.expiresAt().getTime() - System.currentTimeMillis());
+                return Math.max(0, Math.min(untilExp, maxTtlNanos));
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, value, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM has to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * BudgetCache
+ * Per (user, year, month) cache for the budget + category-budget reads
+ * the UI does on every month switch
+ *
+ * - Bounded: max-size entries per cache, each entry expires ttl after it's written
+ * - Writes evict exactly the months they touch, AFTER the db transaction ends
+ *
+ * WHY NO STALE READS:
+ * A load runs inside the cache's per-key lock, and invalidate() on that key
+ * waits for it. So a reader that loaded the old row just before a commit
+ * finishes first and then gets thrown out by the post-commit evict.
+ * Anyone loading after the evict reads the committed row.
+ *
+ * Cached DTOs are shared between requests - treat them as read-only
+ */
+@Component
+public class BudgetCache {
+
+    /**
+     * Evictions run before any afterCompletion hook left at the default order
+     */
+    private static final int EVICTION_ORDER = Ordered.LOWEST_PRECEDENCE - 100;
+
+    public record Key(Long userId, int year, int month) {
+    }
+
+    /**
+     * Point-in-time counters for one cache
+     *
+     * @param evictions dropped for size or TTL
+     * @param invalidations dropped because a write touched that month
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations) {
+    }
+
+    /**
+     * Optional because "no budget for that month" is worth caching too
+     */
+    private final Cache<Key, Optional<BudgetResponse>> budgets;
+    private final Cache<Key, List<CategoryBudgetResponse>> categoryBudgets;
+
+    private final AtomicLong budgetInvalidations = new AtomicLong();
+    private final AtomicLong categoryInvalidations = new AtomicLong();
+
+    @Autowired
+    public BudgetCache(
+            @Value("${budget.cache.max-size:10000}") long maxSize,
+            @Value("${budget.cache.ttl:10m}") Duration ttl) {
+        this(maxSize, ttl, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tests pass Runnable::run so size evictions happen right away
+     */
+    BudgetCache(long maxSize, Duration ttl, Executor maintenanceExecutor) {
+        this.budgets = build(maxSize, ttl, maintenanceExecutor);
+        this.categoryBudgets = build(maxSize, ttl, maintenanceExecutor);
+    }
+
+    private static <V> Cache<Key, V> build(long maxSize, Duration ttl, Executor executor) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .executor(executor)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Cached budget for the month, or loader's result on a miss (null = no budget)
+     */
+    public BudgetResponse getBudget(Long userId, Integer month, Integer year, Supplier<BudgetResponse> loader) {
+        return budgets.get(new Key(userId, year, month), k -> Optional.ofNullable(loader.get())).orElse(null);
+    }
+
+    /**
+     * Cached category budgets for the month, or loader's result on a miss
+     */
+    public List<CategoryBudgetResponse> getCategoryBudgets(
+            Long userId, Integer month, Integer year, Supplier<List<CategoryBudgetResponse>> loader) {
+        return categoryBudgets.get(new Key(userId, year, month), k -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Budget row for that month changed
+     */
+    public void evictBudget(Long userId, Integer month, Integer year) {
+        Key key = new Key(userId, year, month);
+        afterCompletion(() -> {
+            budgets.invalidate(key);
+            budgetInvalidations.incrementAndGet();
+        });
+    }
+
+    /**
+     * Category budgets for that month changed
+     * Evicts the budget too - a CATEGORY_SUM budget's effectiveAmount is their sum
+     */
+    public void evictCategoryBudgets(Long userId, Integer month, Integer year) {
+        Key key = new Key(userId, year, month);
+        afterCompletion(() -> {
+            categoryBudgets.invalidate(key);
+            categoryInvalidations.incrementAndGet();
+            budgets.invalidate(key);
+            budgetInvalidations.incrementAndGet();
+        });
+    }
+
+    /**
+     * Inside a db transaction -> wait for it to end, evicting earlier would let
+     * a reader re-cache the old committed row. Rollbacks evict too in case
+     * something read the uncommitted row into the cache inside that transaction
+     * Outside one -> the repository call already committed, evict now
+     *
+     * Ordered ahead of the other afterCompletion hooks (UserDataVersions' bump,
+     * ChangeEventHub's push),
+     * so nothing announces the change while the old value is still cached
+     */
+    private void afterCompletion(Runnable evict) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict.run();
+            }
+
+            @Override
+            public int getOrder() {
+                return EVICTION_ORDER;
+            }
+        });
+    }
+
+    public Stats budgetStats() {
+        return stats(budgets, budgetInvalidations);
+    }
+
+    public Stats categoryBudgetStats() {
+        return stats(categoryBudgets, categoryInvalidations);
+    }
+
+    private static Stats stats(Cache<Key, ?> cache, AtomicLong invalidations) {
+        com.github.benmanes.caffeine.cache.stats.CacheStats s = cache.stats();
+        return new Stats(s.hitCount(), s.missCount(), s.evictionCount(), invalidations.get());
+    }
+
+    /**
+     * Run pending size/TTL maintenance now (tests)
+     */
+    void cleanUp() {
+        budgets.cleanUp();
+        categoryBudgets.cleanUp();
+    }
+}
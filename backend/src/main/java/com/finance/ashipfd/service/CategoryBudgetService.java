@@ -1,16 +1,27 @@
 package com.finance.ashipfd.service;
 
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.BulkCategoryBudgetResponse;
+import com.finance.ashipfd.dto.CategoryBudgetAmount;
 import com.finance.ashipfd.dto.CategoryBudgetRequest;
 import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.exception.InvalidRequestException;
 import com.finance.ashipfd.model.CategoryBudget;
+import com.finance.ashipfd.model.SyncEntityType;
+import com.finance.ashipfd.model.Tombstone;
 import com.finance.ashipfd.model.TransactionCategory;
-import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.BudgetRepository;
 import com.finance.ashipfd.repository.CategoryBudgetRepository;
+import com.finance.ashipfd.repository.TombstoneRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * CategoryBudgetService
@@ -22,51 +33,97 @@ import java.util.stream.Collectors;
 @Service
 public class CategoryBudgetService {
     private final CategoryBudgetRepository categoryBudgetRepository;
-    private final UserService userService;
+    private final BudgetRepository budgetRepository;
+    private final BudgetCache budgetCache;
+    private final UserDataVersions userDataVersions;
+    private final TombstoneRepository tombstoneRepository;
+    private final ChangeEventHub changeEventHub;
 
-    public CategoryBudgetService(CategoryBudgetRepository categoryBudgetRepository, UserService userService) {
+    public CategoryBudgetService(
+            CategoryBudgetRepository categoryBudgetRepository,
+            BudgetRepository budgetRepository,
+            BudgetCache budgetCache,
+            UserDataVersions userDataVersions,
+            TombstoneRepository tombstoneRepository,
+            ChangeEventHub changeEventHub) {
         this.categoryBudgetRepository = categoryBudgetRepository;
-        this.userService = userService;
+        this.budgetRepository = budgetRepository;
+        this.budgetCache = budgetCache;
+        this.userDataVersions = userDataVersions;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeEventHub = changeEventHub;
     }
 
+    /**
+     * Served from BudgetCache, db only on a miss
+     * Miss = one DTO projection query, no entities loaded
+     */
     public List<CategoryBudgetResponse> getCategoryBudgets(Long userId, Integer month, Integer year) {
-        List<CategoryBudget> budgets = categoryBudgetRepository.findByUserIdAndMonthAndYear(userId, month, year);
-
-        return budgets.stream().map(this::toDTO).collect(Collectors.toList());
+        return budgetCache.getCategoryBudgets(userId, month, year, () -> categoryBudgetRepository
+                .findResponsesByUserIdAndMonthAndYear(userId, month, year));
     }
 
+    /**
+     * Create or update the month's budget for one category
+     * Single upsert on (user, month, year, category), no read first
+     * Every write here also touches the month's CATEGORY_SUM budget, its total moved
+     */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
     public CategoryBudgetResponse setCategoryBudget(CategoryBudgetRequest req, Long userId) {
-        User user = userService.findById(userId);
+        CategoryBudgetResponse saved = categoryBudgetRepository.upsertCategoryBudget(
+                userId, req.getMonth(), req.getYear(), req.getCategory(), req.getAmount());
+        budgetRepository.touchCategorySum(userId, req.getMonth(), req.getYear(), LocalDateTime.now());
+        budgetCache.evictCategoryBudgets(userId, req.getMonth(), req.getYear());
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.CATEGORY_BUDGET);
+        return saved;
+    }
 
-        Optional<CategoryBudget> existingBudget = categoryBudgetRepository
-                .findByUserIdAndMonthAndYearAndCategory(
-                        userId,
-                        req.getMonth(),
-                        req.getYear(),
-                        req.getCategory()
-                );
+    /**
+     * Set a whole month of category budgets in one transaction
+     * replace: tombstones + one DELETE for categories not in the request, then one batched upsert, then one read
+     * merge:   batched upsert + read, other categories untouched
+     */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
+    public BulkCategoryBudgetResponse setCategoryBudgets(BulkCategoryBudgetRequest req, Long userId) {
+        Map<TransactionCategory, BigDecimal> amounts = new EnumMap<>(TransactionCategory.class);
+        for (CategoryBudgetAmount item : req.getCategoryBudgets()) {
+            if (amounts.put(item.getCategory(), item.getAmount()) != null) {
+                throw new InvalidRequestException("Category " + item.getCategory() + " is listed more than once");
+            }
+        }
 
-        CategoryBudget categoryBudget;
-        if(existingBudget.isPresent()) {
-            categoryBudget = existingBudget.get();
-            categoryBudget.setAmount(req.getAmount());
-        } else {
-            categoryBudget = new CategoryBudget();
-            categoryBudget.setUser(user);
-            categoryBudget.setMonth(req.getMonth());
-            categoryBudget.setYear(req.getYear());
-            categoryBudget.setCategory(req.getCategory());
-            categoryBudget.setAmount(req.getAmount());
+        if (req.isReplace()) {
+            categoryBudgetRepository.deleteCategoryBudgetsExcept(
+                    userId, req.getMonth(), req.getYear(), amounts.keySet());
         }
+        categoryBudgetRepository.upsertCategoryBudgets(userId, req.getMonth(), req.getYear(), amounts);
 
-        CategoryBudget savedCategoryBudget = categoryBudgetRepository.save(categoryBudget);
-        return toDTO(savedCategoryBudget);
+        List<CategoryBudgetResponse> categoryBudgets = categoryBudgetRepository
+                .findResponsesByUserIdAndMonthAndYear(userId, req.getMonth(), req.getYear());
+        BigDecimal effectiveAmount = categoryBudgets.stream()
+                .map(CategoryBudgetResponse::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        budgetRepository.touchCategorySum(userId, req.getMonth(), req.getYear(), LocalDateTime.now());
+        budgetCache.evictCategoryBudgets(userId, req.getMonth(), req.getYear());
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.CATEGORY_BUDGET);
+
+        return new BulkCategoryBudgetResponse(req.getMonth(), req.getYear(), categoryBudgets, effectiveAmount);
     }
 
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
     public void deleteCategoryBudget(Long userId, Integer month, Integer year, TransactionCategory category) {
         Optional<CategoryBudget> budget = categoryBudgetRepository.findByUserIdAndMonthAndYearAndCategory(userId, month, year, category);
 
-        budget.ifPresent(categoryBudgetRepository::delete);
+        if (budget.isPresent()) {
+            categoryBudgetRepository.delete(budget.get());
+            tombstoneRepository.save(Tombstone.of(userId, SyncEntityType.CATEGORY_BUDGET, budget.get().getId()));
+            budgetRepository.touchCategorySum(userId, month, year, LocalDateTime.now());
+            userDataVersions.bump(userId);
+            changeEventHub.publish(userId, SyncEntityType.CATEGORY_BUDGET);
+        }
+        budgetCache.evictCategoryBudgets(userId, month, year);
     }
 
     public CategoryBudgetResponse toDTO(CategoryBudget budget) {
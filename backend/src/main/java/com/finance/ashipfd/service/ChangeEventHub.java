@@ -0,0 +1,307 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.DataChangeEvent;
+import com.finance.ashipfd.model.SyncEntityType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ChangeEventHub
+ * Pushes "your data changed" events to a user's open dashboards (GET /api/events)
+ *
+ * - Writes call publish(userId, type); the push happens AFTER the db commit
+ *   (transaction synchronization, ordered after BudgetCache's eviction and the
+ *   UserDataVersions bump), so a client that refetches on the event always sees
+ *   the new rows and the new ETag. Rolled back = no event
+ * - First thing on a new stream: retry + a comment, so the response headers go
+ *   out right away instead of with the first event / heartbeat
+ * - One Subscriber per open tab: SseEmitter + a mailbox + its own virtual
+ *   thread that writes to the socket. Publishing never touches the network,
+ *   it just drops the type in the mailbox
+ * - The mailbox coalesces: it's a set of changed types, so 500 imported
+ *   transactions while a tab is slow = one pending TRANSACTION, not 500
+ *   queued events. Its size is capped by the number of types
+ * - A send stuck longer than send-timeout = slow / dead client -> disconnected
+ *   (the client reconnects and resyncs via /api/sync)
+ * - Idle tabs get a comment line every heartbeat so dead sockets and proxy
+ *   idle timeouts show up
+ *
+ * Idle cost per connection: one parked virtual thread + a small object,
+ * so tens of thousands of open tabs are fine (Tomcat's server.tomcat.max-connections
+ * is the real cap there). Per user, max-per-user tabs - the oldest goes first
+ *
+ * SmartLifecycle so shutdown hangs up every stream BEFORE the web server's
+ * graceful shutdown starts waiting on them - open streams never finish on
+ * their own, so otherwise it would sit out its whole timeout
+ */
+@Component
+public class ChangeEventHub implements SmartLifecycle {
+    private static final Logger log = LoggerFactory.getLogger(ChangeEventHub.class);
+
+    /**
+     * retry: sent to every new stream - how long the browser waits before reconnecting
+     */
+    private static final Duration RECONNECT = Duration.ofSeconds(3);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean running;
+    private final Duration timeout;
+    private final Duration heartbeat;
+    private final Duration sendTimeout;
+    private final int maxPerUser;
+
+    public ChangeEventHub(
+            @Value("${events.timeout:30m}") Duration timeout,
+            @Value("${events.heartbeat:25s}") Duration heartbeat,
+            @Value("${events.send-timeout:10s}") Duration sendTimeout,
+            @Value("${events.max-per-user:5}") int maxPerUser) {
+        this.timeout = timeout;
+        this.heartbeat = heartbeat;
+        this.sendTimeout = sendTimeout;
+        this.maxPerUser = maxPerUser;
+    }
+
+    /**
+     * Open a stream for the user (one per tab)
+     */
+    public SseEmitter subscribe(Long userId) {
+        Subscriber subscriber = new Subscriber(userId, new SseEmitter(timeout.toMillis()), sequence.incrementAndGet());
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(e -> subscriber.close());
+
+        // add inside compute - remove() drops empty sets under the same per-key lock
+        Set<Subscriber> mine = subscribers.compute(userId, (k, existing) -> {
+            Set<Subscriber> set = existing != null ? existing : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        while (mine.size() > maxPerUser) {
+            mine.stream().min(Comparator.comparingLong(s -> s.id)).ifPresent(Subscriber::disconnect);
+        }
+        // Checked after adding, so one that raced stop() is hung up by either side
+        if (!running) {
+            subscriber.disconnect();
+        }
+
+        Thread.ofVirtual().name("sse-" + userId + "-" + subscriber.id).start(subscriber::run);
+        return subscriber.emitter;
+    }
+
+    /**
+     * The user's rows of that type changed - tell their open tabs once the
+     * db transaction commits (right away outside one)
+     */
+    public void publish(Long userId, SyncEntityType type) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            deliver(userId, type);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    deliver(userId, type);
+                }
+            }
+
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+        });
+    }
+
+    private void deliver(Long userId, SyncEntityType type) {
+        Set<Subscriber> mine = subscribers.get(userId);
+        if (mine != null) {
+            for (Subscriber subscriber : mine) {
+                subscriber.offer(type);
+            }
+        }
+    }
+
+    /**
+     * Drop subscribers whose current send has been stuck too long
+     */
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+    public void disconnectSlowConsumers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> mine : subscribers.values()) {
+            for (Subscriber subscriber : mine) {
+                long started = subscriber.sendStartedNanos;
+                if (started != 0 && now - started > sendTimeout.toNanos()) {
+                    log.info("Disconnecting slow event consumer (user {})", subscriber.userId);
+                    subscriber.disconnect();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * Shutdown: hang up every open stream (clients reconnect to another instance / after restart)
+     */
+    @Override
+    public void stop() {
+        running = false;
+        int open = connectionCount();
+        for (Set<Subscriber> mine : subscribers.values()) {
+            for (Subscriber subscriber : mine) {
+                subscriber.disconnect();
+            }
+        }
+        log.info("Closed {} event stream(s) for shutdown", open);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Open streams right now (tests / metrics)
+     */
+    public int connectionCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (k, mine) -> {
+            mine.remove(subscriber);
+            return mine.isEmpty() ? null : mine;
+        });
+    }
+
+    /**
+     * One open tab. Lock, not synchronized - a virtual thread waiting in a
+     * synchronized block pins its carrier thread
+     */
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final long id;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final EnumSet<SyncEntityType> pending = EnumSet.noneOf(SyncEntityType.class);
+        private boolean closed;
+
+        /**
+         * nanoTime when the send in progress started, 0 = not sending
+         */
+        private volatile long sendStartedNanos;
+
+        Subscriber(Long userId, SseEmitter emitter, long id) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.id = id;
+        }
+
+        void offer(SyncEntityType type) {
+            lock.lock();
+            try {
+                if (!closed && pending.add(type)) {
+                    changed.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Writer loop (own virtual thread): wait for changes or the heartbeat, send, repeat
+         */
+        void run() {
+            try {
+                emitter.send(SseEmitter.event().reconnectTime(RECONNECT.toMillis()).comment("connected"));
+                while (true) {
+                    List<SyncEntityType> types;
+                    lock.lock();
+                    try {
+                        if (pending.isEmpty() && !closed) {
+                            changed.await(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                        }
+                        if (closed) {
+                            return;
+                        }
+                        types = new ArrayList<>(pending);
+                        pending.clear();
+                    } finally {
+                        lock.unlock();
+                    }
+
+                    sendStartedNanos = System.nanoTime();
+                    if (types.isEmpty()) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .name("change")
+                                .data(new DataChangeEvent(types), MediaType.APPLICATION_JSON));
+                    }
+                    sendStartedNanos = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away / emitter already completed
+                disconnect();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                disconnect();
+            }
+        }
+
+        /**
+         * Server side hang-up
+         */
+        void disconnect() {
+            close();
+            emitter.complete();
+        }
+
+        /**
+         * Stop the writer + forget the subscriber (also the emitter's completion callback)
+         */
+        void close() {
+            lock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+            remove(this);
+        }
+    }
+}
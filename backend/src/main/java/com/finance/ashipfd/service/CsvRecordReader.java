@@ -0,0 +1,114 @@
+package com.finance.ashipfd.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRecordReader
+ *
+ * Minimal streaming RFC 4180 reader - hands back one record at a time
+ * so a big upload never has to be in memory all at once
+ *
+ * Handles:
+ * - "quoted, fields" with commas inside
+ * - "" as an escaped quote inside a quoted field
+ * - newlines inside quoted fields
+ * - \n or \r\n line endings
+ */
+public class CsvRecordReader implements Closeable {
+    private final Reader reader;
+    private int pushedBack = -2;
+    private long recordNumber;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * @return Next record's fields, or null at end of file
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        unread(c);
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        while (true) {
+            c = read();
+
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    int peek = read();
+                    if (peek == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(peek);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == -1 || c == '\n') {
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            }
+            if (c == '\r') {
+                int peek = read();
+                if (peek != '\n') {
+                    unread(peek);
+                }
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            }
+            if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * 1-based number of the last record returned (header = 1)
+     */
+    public long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,133 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.model.ImportJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ImportJob
+ *
+ * In-memory state of one CSV import while it runs (and for a while after)
+ * Written by the pipeline threads, read by GET /api/imports/{id},
+ * so everything here is atomic/volatile/synchronized
+ */
+public class ImportJob {
+    /**
+     * Keep only the first few errors, a garbage file could have millions
+     */
+    static final int MAX_ERRORS = 20;
+
+    private final String id;
+    private final Long userId;
+    private final String fileName;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile ImportJobStatus status = ImportJobStatus.QUEUED;
+    private volatile boolean cancelRequested;
+    private volatile boolean fatal;
+    private volatile LocalDateTime finishedAt;
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+    private final AtomicLong chunksCommitted = new AtomicLong();
+    private final List<String> errors = new ArrayList<>();
+
+    public ImportJob(String id, Long userId, String fileName) {
+        this.id = id;
+        this.userId = userId;
+        this.fileName = fileName;
+    }
+
+    void markRunning() {
+        status = ImportJobStatus.RUNNING;
+    }
+
+    /**
+     * Pick the final status once both pipeline stages are done
+     */
+    void finish() {
+        if (cancelRequested) {
+            status = ImportJobStatus.CANCELLED;
+        } else if (fatal) {
+            status = ImportJobStatus.FAILED;
+        } else {
+            status = ImportJobStatus.COMPLETED;
+        }
+        finishedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Ask the pipeline to stop after the chunk it's on
+     * Already committed chunks stay committed
+     */
+    void requestCancel() {
+        cancelRequested = true;
+    }
+
+    void markFatal(String error) {
+        fatal = true;
+        addError(error);
+    }
+
+    void addError(String error) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    List<String> errorsSnapshot() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    AtomicLong rowsRead() {
+        return rowsRead;
+    }
+
+    AtomicLong rowsImported() {
+        return rowsImported;
+    }
+
+    AtomicLong rowsFailed() {
+        return rowsFailed;
+    }
+
+    AtomicLong chunksCommitted() {
+        return chunksCommitted;
+    }
+}
@@ -0,0 +1,441 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.ImportJobResponse;
+import com.finance.ashipfd.exception.ImportJobNotFoundException;
+import com.finance.ashipfd.exception.InvalidImportFileException;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * ImportService
+ * Async CSV bank-statement import
+ *
+ * PIPELINE (per job):
+ *
+ *   [parser thread] --chunks--> [bounded queue] --chunks--> [writer thread]
+ *    read CSV record by record      (queueCapacity)          createTransactions(chunk)
+ *    map + validate rows                                      1 db transaction per chunk
+ *
+ * - Queue is bounded, so if the db is slow the parser blocks instead of
+ *   reading the whole file into memory (backpressure)
+ * - Each chunk commits on its own -> a bad chunk doesn't undo earlier ones
+ * - Invalid rows are skipped + counted, they don't fail the job
+ * - Cancelling stops both stages at the next chunk boundary
+ *
+ * Expected CSV: header row, then one transaction per row
+ *   required columns: amount, category
+ *   optional columns: type, transactionDate (or date), description
+ *   (extra columns like id/createdAt are ignored, so an export can be re-imported)
+ *   no type column -> negative amount = EXPENSE, positive = INCOME
+ *
+ * Job state lives in memory and is dropped retentionMinutes after it finishes
+ */
+@Service
+public class ImportService {
+    private static final Logger log = LoggerFactory.getLogger(ImportService.class);
+
+    private static final long POLL_MILLIS = 200;
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yyyy")
+    );
+
+    private final TransactionService transactionService;
+    private final Validator validator;
+    private final int chunkSize;
+    private final int queueCapacity;
+    private final long retentionMinutes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Pipeline stages mostly wait (on the queue or the db), virtual threads are perfect for that
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ImportService(
+            TransactionService transactionService,
+            Validator validator,
+            @Value("${import.chunk-size:500}") int chunkSize,
+            @Value("${import.queue-capacity:4}") int queueCapacity,
+            @Value("${import.retention-minutes:60}") long retentionMinutes) {
+        this.transactionService = transactionService;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+        this.queueCapacity = queueCapacity;
+        this.retentionMinutes = retentionMinutes;
+    }
+
+    /**
+     * Start importing a CSV file, returns right away
+     *
+     * @param userId User ID from JWT
+     * @param fileName Original upload name (just for display)
+     * @param csvFile Temp copy of the upload - this service owns it now and deletes it when done
+     * @return Job in QUEUED state (poll getJob for progress)
+     */
+    public ImportJobResponse submit(Long userId, String fileName, Path csvFile) {
+        evictExpiredJobs();
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), userId, fileName);
+        jobs.put(job.getId(), job);
+        executor.submit(() -> run(job, csvFile));
+
+        return toDTO(job);
+    }
+
+    /**
+     * Progress of a job
+     * @throws ImportJobNotFoundException if it doesn't exist or isn't this user's
+     */
+    public ImportJobResponse getJob(String jobId, Long userId) {
+        evictExpiredJobs();
+        return toDTO(findJob(jobId, userId));
+    }
+
+    /**
+     * Cancel a running job
+     * Chunks that already committed stay in the db
+     */
+    public ImportJobResponse cancelJob(String jobId, Long userId) {
+        ImportJob job = findJob(jobId, userId);
+        if (!job.getStatus().isFinished()) {
+            job.requestCancel();
+        }
+        return toDTO(job);
+    }
+
+    private ImportJob findJob(String jobId, Long userId) {
+        ImportJob job = jobs.get(jobId);
+        // SECURITY CHECK: someone else's job looks the same as no job
+        if (job == null || !job.getUserId().equals(userId)) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    /**
+     * One chunk of parsed rows, rows == null marks end of input
+     */
+    private record Chunk(long firstRow, long lastRow, List<CreateTransactionRequest> rows) {
+        static final Chunk END = new Chunk(0, 0, null);
+    }
+
+    /**
+     * Job body: parser on its own thread, writer on this one
+     */
+    private void run(ImportJob job, Path csvFile) {
+        job.markRunning();
+        BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicBoolean writerGone = new AtomicBoolean();
+        BooleanSupplier stopped = () -> job.isCancelRequested() || writerGone.get();
+
+        Future<?> parser = null;
+        try {
+            parser = executor.submit(() -> parse(job, csvFile, queue, stopped));
+            write(job, queue);
+            parser.get();
+        } catch (Exception | Error e) {
+            // Nobody reads this task's Future, so an Error would vanish without marking the job
+            log.error("Import job {} crashed", job.getId(), e);
+            job.markFatal("Import failed: " + e.getMessage());
+        } finally {
+            // Writer is done for whatever reason - without this a parser blocked on the full
+            // queue would spin forever with the file open. Wait for it so the reader is closed
+            // before the file goes and the job only finishes once both stages have
+            writerGone.set(true);
+            awaitQuietly(parser);
+            job.finish();
+            try {
+                Files.deleteIfExists(csvFile);
+            } catch (IOException e) {
+                log.warn("Couldn't delete import temp file {}", csvFile, e);
+            }
+        }
+    }
+
+    /**
+     * Wait for the parser to exit, even if this thread is interrupted (it stops within POLL_MILLIS)
+     */
+    private void awaitQuietly(Future<?> parser) {
+        if (parser == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                parser.get();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            } catch (ExecutionException | CancellationException e) {
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stage 1: CSV -> validated CreateTransactionRequests -> chunks on the queue
+     * Stops early once stopped says so (cancel, or the writer is gone)
+     */
+    private void parse(ImportJob job, Path csvFile, BlockingQueue<Chunk> queue, BooleanSupplier stopped) {
+        try (CsvRecordReader csv = new CsvRecordReader(Files.newBufferedReader(csvFile, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = readHeader(csv.next());
+
+            List<CreateTransactionRequest> rows = new ArrayList<>(chunkSize);
+            long firstRow = 0;
+            List<String> record;
+
+            while (!stopped.getAsBoolean() && (record = csv.next()) != null) {
+                long rowNumber = csv.getRecordNumber();
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                job.rowsRead().incrementAndGet();
+
+                try {
+                    CreateTransactionRequest req = toRequest(columns, record);
+                    Set<ConstraintViolation<CreateTransactionRequest>> violations = validator.validate(req);
+                    if (!violations.isEmpty()) {
+                        throw new InvalidImportFileException(violations.iterator().next().getMessage());
+                    }
+
+                    if (rows.isEmpty()) {
+                        firstRow = rowNumber;
+                    }
+                    rows.add(req);
+                } catch (InvalidImportFileException e) {
+                    job.rowsFailed().incrementAndGet();
+                    job.addError("Row " + rowNumber + ": " + e.getMessage());
+                }
+
+                if (rows.size() == chunkSize) {
+                    if (!enqueue(stopped, queue, new Chunk(firstRow, rowNumber, rows))) {
+                        return;
+                    }
+                    rows = new ArrayList<>(chunkSize);
+                }
+            }
+
+            if (!rows.isEmpty()) {
+                enqueue(stopped, queue, new Chunk(firstRow, csv.getRecordNumber(), rows));
+            }
+        } catch (IOException | InvalidImportFileException e) {
+            job.markFatal(e.getMessage());
+        } finally {
+            enqueue(stopped, queue, Chunk.END);
+        }
+    }
+
+    /**
+     * Blocks while the queue is full (that's the backpressure part)
+     * Gives up if the job gets cancelled (or the writer goes away) while waiting
+     *
+     * @return false if stopped
+     */
+    private boolean enqueue(BooleanSupplier stopped, BlockingQueue<Chunk> queue, Chunk chunk) {
+        try {
+            while (!queue.offer(chunk, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (stopped.getAsBoolean()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stage 2: take chunks off the queue and insert each one in its own db transaction
+     */
+    private void write(ImportJob job, BlockingQueue<Chunk> queue) throws InterruptedException {
+        while (!job.isCancelRequested()) {
+            Chunk chunk = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (chunk == null) {
+                continue;
+            }
+            if (chunk == Chunk.END) {
+                return;
+            }
+
+            try {
+                transactionService.createTransactions(new BulkCreateTransactionRequest(chunk.rows()), job.getUserId());
+                job.rowsImported().addAndGet(chunk.rows().size());
+                job.chunksCommitted().incrementAndGet();
+            } catch (RuntimeException e) {
+                // This chunk rolled back, earlier ones are already committed - keep going
+                log.warn("Import job {} chunk rows {}-{} failed", job.getId(), chunk.firstRow(), chunk.lastRow(), e);
+                job.rowsFailed().addAndGet(chunk.rows().size());
+                job.addError("Rows " + chunk.firstRow() + "-" + chunk.lastRow() + " not saved: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Header row -> lowercase column name to index
+     */
+    private Map<String, Integer> readHeader(List<String> header) {
+        if (header == null) {
+            throw new InvalidImportFileException("File is empty");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("date") && columns.containsKey("transactiondate")) {
+            columns.put("date", columns.get("transactiondate"));
+        }
+        if (!columns.containsKey("amount") || !columns.containsKey("category")) {
+            throw new InvalidImportFileException("CSV header must have at least 'amount' and 'category' columns");
+        }
+        return columns;
+    }
+
+    /**
+     * One CSV record -> CreateTransactionRequest (not validated yet)
+     */
+    private CreateTransactionRequest toRequest(Map<String, Integer> columns, List<String> record) {
+        String rawAmount = column(columns, record, "amount");
+        if (rawAmount == null) {
+            throw new InvalidImportFileException("Amount is required");
+        }
+
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(rawAmount.replace("$", "").replace(",", ""));
+        } catch (NumberFormatException e) {
+            throw new InvalidImportFileException("Invalid amount '" + rawAmount + "'");
+        }
+
+        String rawType = column(columns, record, "type");
+        TransactionType type;
+        if (rawType != null) {
+            try {
+                type = TransactionType.valueOf(rawType.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidImportFileException("Invalid type '" + rawType + "'");
+            }
+        } else {
+            type = amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+        }
+
+        return new CreateTransactionRequest(
+                amount.abs(),
+                type,
+                parseCategory(column(columns, record, "category")),
+                column(columns, record, "description"),
+                parseDate(column(columns, record, "date"))
+        );
+    }
+
+    private String column(Map<String, Integer> columns, List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Accepts the enum name (GROCERIES) or the display name (Groceries)
+     */
+    private TransactionCategory parseCategory(String raw) {
+        if (raw == null) {
+            throw new InvalidImportFileException("Category is required");
+        }
+        for (TransactionCategory category : TransactionCategory.values()) {
+            if (category.name().equalsIgnoreCase(raw) || category.getDisplayName().equalsIgnoreCase(raw)) {
+                return category;
+            }
+        }
+        throw new InvalidImportFileException("Unknown category '" + raw + "'");
+    }
+
+    private LocalDate parseDate(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(raw, format);
+            } catch (DateTimeParseException ignored) {
+                // try the next one
+            }
+        }
+        throw new InvalidImportFileException("Invalid date '" + raw + "'");
+    }
+
+    /**
+     * Drop finished jobs past retention so the map can't grow forever
+     */
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(ImportJob::requestCancel);
+        executor.shutdown();
+    }
+
+    private ImportJobResponse toDTO(ImportJob job) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getFileName(),
+                job.getStatus(),
+                job.rowsRead().get(),
+                job.rowsImported().get(),
+                job.rowsFailed().get(),
+                job.chunksCommitted().get(),
+                job.errorsSnapshot(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
@@ -0,0 +1,244 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.CategoryTotal;
+import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.repository.MonthlyRollupRepository;
+import com.finance.ashipfd.repository.RollupDelta;
+import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MonthlyRollupService
+ * Keeps monthly_category_totals in sync with transactions + reads from it
+ *
+ * WRITE SIDE (called by TransactionService inside ITS db transaction):
+ * - created -> +amount, +1 on the new bucket
+ * - deleted -> -amount, -1 on the old bucket
+ * - updated -> take it out of the old bucket, put it in the new one
+ *              (same bucket = just the amount difference)
+ *
+ * REPAIR SIDE:
+ * - verify(userId)  -> compare rollup vs raw rows, report drift
+ * - rebuild(userId) -> recompute from raw rows
+ * - verifyAll()     -> scheduled sweep over every user (repairs if rollup.verify.repair=true)
+ */
+@Service
+public class MonthlyRollupService {
+    private static final Logger log = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    private final MonthlyRollupRepository rollupRepository;
+    private final TransactionRepository transactionRepository;
+    private final UserRepository userRepository;
+    private final boolean repairOnDrift;
+
+    /**
+     * verifyAll calls verify / rebuild on this, not through the proxy, so
+     * their @Transactional doesn't apply there - these give each user's
+     * check and repair the same transaction the annotations describe
+     */
+    private final TransactionTemplate verifyTx;
+    private final TransactionTemplate rebuildTx;
+
+    public MonthlyRollupService(
+            MonthlyRollupRepository rollupRepository,
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${rollup.verify.repair:true}") boolean repairOnDrift) {
+        this.rollupRepository = rollupRepository;
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.repairOnDrift = repairOnDrift;
+
+        this.verifyTx = new TransactionTemplate(transactionManager);
+        this.verifyTx.setReadOnly(true);
+        this.verifyTx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.rebuildTx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Bucket a transaction lands in
+     */
+    private record Bucket(Long userId, int year, int month, TransactionCategory category, TransactionType type) {
+        static Bucket of(Long userId, LocalDate date, TransactionCategory category, TransactionType type) {
+            return new Bucket(userId, date.getYear(), date.getMonthValue(), category, type);
+        }
+    }
+
+    /**
+     * Snapshot of the fields that decide a transaction's bucket + its amount
+     * Take one BEFORE changing the entity so the old bucket can be decremented
+     */
+    public record Contribution(Long userId, LocalDate date, TransactionCategory category,
+                               TransactionType type, BigDecimal amount) {
+        public static Contribution of(Transaction t) {
+            return new Contribution(t.getUser().getId(), t.getTransactionDate(), t.getCategory(),
+                    t.getType(), t.getAmount());
+        }
+
+        Bucket bucket() {
+            return Bucket.of(userId, date, category, type);
+        }
+    }
+
+    public void recordCreated(Contribution created) {
+        recordCreated(List.of(created));
+    }
+
+    /**
+     * Many creates at once -> summed per bucket first, so 500 groceries in
+     * one month = ONE upsert
+     */
+    public void recordCreated(Collection<Contribution> created) {
+        Map<Bucket, RollupDelta> deltas = new HashMap<>();
+        for (Contribution c : created) {
+            add(deltas, c, 1);
+        }
+        rollupRepository.applyDeltas(deltas.values());
+    }
+
+    public void recordDeleted(Contribution removed) {
+        Map<Bucket, RollupDelta> deltas = new HashMap<>();
+        add(deltas, removed, -1);
+        rollupRepository.applyDeltas(deltas.values());
+    }
+
+    /**
+     * Move a transaction's contribution from before -> after
+     */
+    public void recordUpdated(Contribution before, Contribution after) {
+        if (before.equals(after)) {
+            return;
+        }
+        Map<Bucket, RollupDelta> deltas = new HashMap<>();
+        add(deltas, before, -1);
+        add(deltas, after, 1);
+        rollupRepository.applyDeltas(deltas.values());
+    }
+
+    private void add(Map<Bucket, RollupDelta> deltas, Contribution c, int sign) {
+        Bucket bucket = c.bucket();
+        BigDecimal amount = sign > 0 ? c.amount() : c.amount().negate();
+
+        deltas.merge(bucket,
+                new RollupDelta(bucket.userId(), bucket.year(), bucket.month(), bucket.category(),
+                        bucket.type(), amount, (long) sign),
+                (a, b) -> new RollupDelta(a.userId(), a.year(), a.month(), a.category(), a.type(),
+                        a.amount().add(b.amount()), a.count() + b.count()));
+    }
+
+    /**
+     * Per (category, type) totals for a month, read from the rollup
+     */
+    public List<CategoryTotal> getTotals(Long userId, Integer year, Integer month) {
+        return rollupRepository.findTotals(userId, year, month);
+    }
+
+    /**
+     * Result of comparing the rollup against raw transactions
+     *
+     * @param drifts one line per bucket that doesn't match (empty = all good)
+     */
+    public record DriftReport(Long userId, int bucketsChecked, List<String> drifts) {
+        public boolean hasDrift() {
+            return !drifts.isEmpty();
+        }
+    }
+
+    /**
+     * Recompute a user's buckets from raw rows and diff them against the rollup
+     * REPEATABLE_READ: both reads see one snapshot, so a write committing
+     * between them can't show up as drift
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DriftReport verify(Long userId) {
+        Map<Bucket, RollupDelta> expected = new HashMap<>();
+        for (RollupDelta row : transactionRepository.aggregateMonthlyBuckets(userId)) {
+            expected.put(new Bucket(userId, row.year(), row.month(), row.category(), row.type()), row);
+        }
+
+        List<String> drifts = new ArrayList<>();
+        Set<Bucket> seen = new HashSet<>();
+        for (RollupDelta actual : rollupRepository.findBucketsByUserId(userId)) {
+            Bucket bucket = new Bucket(userId, actual.year(), actual.month(), actual.category(), actual.type());
+            seen.add(bucket);
+            RollupDelta want = expected.get(bucket);
+
+            BigDecimal wantTotal = want == null ? BigDecimal.ZERO : want.amount();
+            long wantCount = want == null ? 0 : want.count();
+            if (wantTotal.compareTo(actual.amount()) != 0 || wantCount != actual.count()) {
+                drifts.add(bucket + ": rollup=" + actual.amount() + "/" + actual.count()
+                        + " raw=" + wantTotal + "/" + wantCount);
+            }
+        }
+        for (Map.Entry<Bucket, RollupDelta> entry : expected.entrySet()) {
+            if (!seen.contains(entry.getKey())) {
+                drifts.add(entry.getKey() + ": missing from rollup, raw="
+                        + entry.getValue().amount() + "/" + entry.getValue().count());
+            }
+        }
+
+        return new DriftReport(userId, Math.max(seen.size(), expected.size()), drifts);
+    }
+
+    /**
+     * Throw away + recompute a user's rollup from raw transactions
+     * One db transaction: readers never see the rollup empty between the
+     * delete and the insert
+     * @return Number of buckets written
+     */
+    @Transactional
+    public int rebuild(Long userId) {
+        return rollupRepository.rebuildForUser(userId);
+    }
+
+    /**
+     * Nightly sweep: verify every user, rebuild the ones that drifted
+     * Each user is checked (and repaired) in its own transactions, and a
+     * failure is logged and skipped so one bad user doesn't stop the rest
+     */
+    @Scheduled(cron = "${rollup.verify.cron:0 30 3 * * *}")
+    public void verifyAll() {
+        int drifted = 0;
+        int failed = 0;
+        for (Long userId : userRepository.findAllIds()) {
+            try {
+                DriftReport report = verifyTx.execute(status -> verify(userId));
+                if (!report.hasDrift()) {
+                    continue;
+                }
+                drifted++;
+                log.warn("Rollup drift for user {}: {} bucket(s) {}", userId, report.drifts().size(), report.drifts());
+                if (repairOnDrift) {
+                    rebuildTx.executeWithoutResult(status -> rebuild(userId));
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                log.error("Rollup verify failed for user {}", userId, e);
+            }
+        }
+        log.info("Rollup verify finished, {} user(s) drifted, {} failed", drifted, failed);
+    }
+}
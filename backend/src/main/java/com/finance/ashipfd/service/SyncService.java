@@ -0,0 +1,114 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.SyncResponse;
+import com.finance.ashipfd.dto.TombstoneResponse;
+import com.finance.ashipfd.repository.BudgetRepository;
+import com.finance.ashipfd.repository.CategoryBudgetRepository;
+import com.finance.ashipfd.repository.TombstoneRepository;
+import com.finance.ashipfd.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SyncService
+ * "What changed since my last sync" for a client-side cache
+ *
+ * - Changed rows: updated_at >= since on transactions / budgets / category_budgets
+ *   (each one seek on its (user_id, updated_at) index)
+ * - Deleted rows: sync_tombstones written by every delete path
+ * - No since, or one older than the tombstone retention -> full snapshot,
+ *   the tombstones that would explain the gap may already be purged
+ *
+ * WHY THE WATERMARK LAGS:
+ * updated_at is stamped before commit (and app / db clocks can be a little
+ * apart), so a row can commit with a timestamp behind "now". Handing back
+ * now - overlap means the next diff re-reads that window instead of skipping
+ * a late commit. Repeats are harmless, clients upsert by id
+ *
+ * That only holds if no write commits more than overlap after it stamped, so
+ * every method that stamps updated_at or writes a tombstone carries
+ * @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS) (rolled back
+ * past it) and overlap has to be longer than that - startup fails otherwise.
+ * What's left over covers commit + clock skew. A new write path needs the same timeout
+ */
+@Service
+public class SyncService {
+    private static final Logger log = LoggerFactory.getLogger(SyncService.class);
+
+    /**
+     * "since" for a full snapshot - older than any row
+     */
+    private static final LocalDateTime EVERYTHING = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final TransactionRepository transactionRepository;
+    private final BudgetRepository budgetRepository;
+    private final CategoryBudgetRepository categoryBudgetRepository;
+    private final TombstoneRepository tombstoneRepository;
+    private final Duration overlap;
+    private final Duration tombstoneRetention;
+
+    public SyncService(
+            TransactionRepository transactionRepository,
+            BudgetRepository budgetRepository,
+            CategoryBudgetRepository categoryBudgetRepository,
+            TombstoneRepository tombstoneRepository,
+            @Value("${sync.overlap:60s}") Duration overlap,
+            @Value("${sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        if (overlap.compareTo(WriteTransactionDeadline.LIMIT) <= 0) {
+            throw new IllegalStateException("sync.overlap (" + overlap + ") must be longer than the write transaction"
+                    + " timeout (" + WriteTransactionDeadline.LIMIT + ")");
+        }
+        this.transactionRepository = transactionRepository;
+        this.budgetRepository = budgetRepository;
+        this.categoryBudgetRepository = categoryBudgetRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.overlap = overlap;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Everything created / changed / deleted at or after since
+     * 4 queries for a diff, 3 for a full snapshot
+     *
+     * @param userId User ID from JWT
+     * @param since watermark from the previous response, null = first sync
+     */
+    @Transactional(readOnly = true)
+    public SyncResponse getChanges(Long userId, LocalDateTime since) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime watermark = now.minus(overlap);
+        boolean full = since == null || since.isBefore(now.minus(tombstoneRetention));
+        LocalDateTime from = full ? EVERYTHING : since;
+
+        List<TombstoneResponse> deleted = full
+                ? List.of()
+                : tombstoneRepository.findResponsesSince(userId, from);
+
+        return new SyncResponse(
+                watermark,
+                full,
+                transactionRepository.findResponsesChangedSince(userId, from),
+                budgetRepository.findResponsesChangedSince(userId, from),
+                categoryBudgetRepository.findResponsesChangedSince(userId, from),
+                deleted);
+    }
+
+    /**
+     * Nightly: drop tombstones no client can still need
+     * (anyone syncing from before the cutoff gets a full snapshot anyway)
+     */
+    @Scheduled(cron = "${sync.tombstone-purge.cron:0 0 4 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int purged = tombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+        log.info("Purged {} sync tombstone(s)", purged);
+    }
+}
@@ -0,0 +1,57 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * TransactionCursor
+ *
+ * Position in the (createdAt DESC, id DESC) ordering of a user's transactions
+ * Used for keyset ("seek") pagination instead of OFFSET
+ *
+ * WHY not OFFSET?
+ * - OFFSET 10000 still makes the db walk past 10000 rows
+ * - Seeking from (createdAt, id) jumps straight to the spot in the index
+ * - Rows inserted while scrolling don't shift pages around
+ *
+ * id is the tie-breaker for rows created in the same instant
+ *
+ * Encoded as base64url("<createdAt ISO>|<id>") so clients treat it as opaque
+ */
+public record TransactionCursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a cursor the client sent back
+     *
+     * @throws InvalidCursorException if it wasn't one of ours
+     */
+    public static TransactionCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split <= 0) {
+                throw new InvalidCursorException(cursor);
+            }
+
+            return new TransactionCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
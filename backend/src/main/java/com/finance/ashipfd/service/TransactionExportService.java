@@ -0,0 +1,121 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.ExportFormat;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.repository.TransactionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * TransactionExportService
+ *
+ * Writes a user's full transaction history straight to an OutputStream
+ * WITHOUT building a List first
+ *
+ * HOW heap stays flat:
+ * 1. Repo hands back a Stream backed by a JDBC cursor (fetch size 500)
+ * 2. Rows come back as DTOs (constructor expression) -> written to the output right away
+ * 3. No entities at all, so the persistence context never grows with the row count
+ *
+ * So memory depends on fetch size + buffer size, not on how many rows the user has
+ */
+@Service
+public class TransactionExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    static final String CSV_HEADER = "id,transactionDate,type,category,amount,description,createdAt";
+
+    private final TransactionRepository transactionRepository;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(
+            TransactionRepository transactionRepository,
+            ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream every transaction of a user to out in the given format
+     *
+     * readOnly transaction keeps the db cursor open while we write
+     * (and tells Hibernate there's nothing to flush at the end)
+     *
+     * @param userId User ID from JWT
+     * @param format NDJSON or CSV
+     * @param out Where to write (response body) - NOT closed here
+     * @return Number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Long userId, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        try (Stream<TransactionResponse> rows = transactionRepository.streamResponsesByUserId(userId)) {
+            Iterator<TransactionResponse> it = rows.iterator();
+            while (it.hasNext()) {
+                TransactionResponse dto = it.next();
+
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(dto));
+                }
+                writer.write('\n');
+                count++;
+            }
+        }
+
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, TransactionResponse dto) throws IOException {
+        writer.write(String.valueOf(dto.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getTransactionDate()));
+        writer.write(',');
+        writer.write(dto.getType().name());
+        writer.write(',');
+        writer.write(dto.getCategory().name());
+        writer.write(',');
+        writer.write(dto.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(csvEscape(dto.getDescription()));
+        writer.write(',');
+        writer.write(String.valueOf(dto.getCreatedAt()));
+    }
+
+    /**
+     * RFC 4180 quoting: wrap in quotes if it has a comma/quote/newline,
+     * double up any quotes inside
+     */
+    static String csvEscape(String value) {
+        if (value == null) {
+            return "";
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0
+                || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0
+                || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
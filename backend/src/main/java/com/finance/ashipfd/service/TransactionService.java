@@ -1,18 +1,36 @@
 package com.finance.ashipfd.service;
 
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CategoryTotal;
 import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.MonthlySummaryResponse;
+import com.finance.ashipfd.dto.TransactionFilter;
+import com.finance.ashipfd.dto.TransactionPageResponse;
 import com.finance.ashipfd.dto.TransactionResponse;
 import com.finance.ashipfd.dto.UpdateTransactionRequest;
+import com.finance.ashipfd.exception.InvalidFilterException;
+import com.finance.ashipfd.exception.InvalidRequestException;
 import com.finance.ashipfd.exception.TransactionNotFoundException;
+import com.finance.ashipfd.model.SyncEntityType;
+import com.finance.ashipfd.model.Tombstone;
 import com.finance.ashipfd.model.Transaction;
+import com.finance.ashipfd.model.TransactionType;
 import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.TombstoneRepository;
 import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.repository.TransactionSpecifications;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * TransactionService
@@ -24,32 +42,131 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class TransactionService {
+    /**
+     * Biggest page a client can ask for in one go
+     */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /**
+     * Flush + clear every N entities during bulk inserts
+     * Matches hibernate.jdbc.batch_size so each flush = one JDBC batch
+     */
+    static final int INSERT_BATCH_SIZE = 50;
+
     private final TransactionRepository transactionRepository;
-    private final UserService userService;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final MonthlyRollupService monthlyRollupService;
+    private final UserDataVersions userDataVersions;
+    private final TombstoneRepository tombstoneRepository;
+    private final ChangeEventHub changeEventHub;
 
-    public TransactionService(TransactionRepository transactionRepository, UserService userService) {
+    public TransactionService(
+            TransactionRepository transactionRepository,
+            UserRepository userRepository,
+            EntityManager entityManager,
+            MonthlyRollupService monthlyRollupService,
+            UserDataVersions userDataVersions,
+            TombstoneRepository tombstoneRepository,
+            ChangeEventHub changeEventHub) {
         this.transactionRepository = transactionRepository;
-        this.userService = userService;
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.monthlyRollupService = monthlyRollupService;
+        this.userDataVersions = userDataVersions;
+        this.tombstoneRepository = tombstoneRepository;
+        this.changeEventHub = changeEventHub;
     }
 
     /**
      * Create a new transaction
      *
      * 1. Get userId from JWT (passed from controller)
-     * 2. Fetch User entity
+     * 2. User reference (proxy w/ just the id, no SELECT)
      * 3. Convert DTO → Entity
      * 4. Save to database
-     * 5. Convert Entity → Response DTO
+     * 5. Bump the monthly rollup (same db transaction)
+     * 6. Convert Entity → Response DTO
      *
      * @param req Transaction data from client
      * @param userId User ID from JWT token
      * @return Created transaction as DTO
      */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
     public TransactionResponse createTransaction(CreateTransactionRequest req, Long userId) {
-        // Fetch user
-        User user = userService.findById(userId);
+        User user = userRepository.getReferenceById(userId);
 
-        // Build transaction entity
+        Transaction transaction = buildTransaction(req, user);
+        Transaction createdTransaction = transactionRepository.save(transaction);
+        monthlyRollupService.recordCreated(MonthlyRollupService.Contribution.of(createdTransaction));
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.TRANSACTION);
+
+        return toDTO(createdTransaction);
+    }
+
+    /**
+     * Create many transactions in ONE db transaction
+     *
+     * - User is a reference (proxy w/ just the id) -> no SELECT on users
+     * - Ids come from the pooled sequence -> inserts go out as JDBC batches
+     * - Flush + clear every INSERT_BATCH_SIZE rows so the persistence
+     *   context doesn't hold thousands of entities
+     *
+     * All or nothing: if any insert fails the whole batch rolls back
+     * Rollup deltas are summed per month/category/type and applied once at the end
+     *
+     * @param req Already validated list of transactions
+     * @param userId User ID from JWT token
+     * @return Created transactions as DTOs (same order as the request)
+     */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
+    public List<TransactionResponse> createTransactions(BulkCreateTransactionRequest req, Long userId) {
+        User user = userRepository.getReferenceById(userId);
+
+        List<CreateTransactionRequest> items = req.getTransactions();
+        List<TransactionResponse> created = new ArrayList<>(items.size());
+        List<Transaction> pending = new ArrayList<>(INSERT_BATCH_SIZE);
+        List<MonthlyRollupService.Contribution> contributions = new ArrayList<>(items.size());
+
+        for (CreateTransactionRequest item : items) {
+            Transaction transaction = buildTransaction(item, user);
+            entityManager.persist(transaction);
+            pending.add(transaction);
+            contributions.add(MonthlyRollupService.Contribution.of(transaction));
+
+            if (pending.size() == INSERT_BATCH_SIZE) {
+                flushBatch(pending, created);
+            }
+        }
+        flushBatch(pending, created);
+        monthlyRollupService.recordCreated(contributions);
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.TRANSACTION);
+
+        return created;
+    }
+
+    /**
+     * Send the pending inserts as one batch, map them, then drop them from the context
+     * (createdAt is set by @PrePersist so the DTO is complete without re-reading)
+     */
+    private void flushBatch(List<Transaction> pending, List<TransactionResponse> created) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        for (Transaction transaction : pending) {
+            created.add(toDTO(transaction));
+        }
+        entityManager.clear();
+        pending.clear();
+    }
+
+    /**
+     * DTO -> new Transaction entity (not saved yet)
+     */
+    private Transaction buildTransaction(CreateTransactionRequest req, User user) {
         Transaction transaction = new Transaction();
         transaction.setUser(user);
         transaction.setAmount(req.getAmount());
@@ -65,27 +182,138 @@ public class TransactionService {
 
         );
 
-        Transaction createdTransaction = transactionRepository.save(transaction);
-
-        return toDTO(createdTransaction);
+        return transaction;
     }
 
     /**
      * Get all transactions for a user
      *
+     * Read paths project straight into TransactionResponse in the query
+     * (no entities, no snapshots, nothing to flush) - see the *Responses*
+     * methods in TransactionRepository
+     *
      * @param userId User ID from JWT token
      * @return List of all user's transactions (newest
     first)
      */
+    @Transactional(readOnly = true)
     public List<TransactionResponse>
     getAllUserTransactions(Long userId) {
-        List<Transaction> transactions =
-                transactionRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        return transactionRepository.findResponsesByUserId(userId);
+    }
+
+    /**
+     * Get all transactions for a user that match the filter
+     *
+     * Filtering runs in the db as ONE query (see TransactionSpecifications)
+     * No filter set -> same as getAllUserTransactions(userId)
+     *
+     * @param userId User ID from JWT token
+     * @param filter Optional filters from query params
+     * @return Matching transactions (newest first)
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getAllUserTransactions(Long userId, TransactionFilter filter) {
+        if (filter == null || filter.isEmpty()) {
+            return getAllUserTransactions(userId);
+        }
+        validateFilter(filter);
+
+        return transactionRepository.findResponses(
+                TransactionSpecifications.matching(userId, filter), Limit.unlimited());
+    }
 
-        // Convert list of entities → list of DTOs
-        return transactions.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+    /**
+     * Get one page of a user's transactions (newest first)
+     *
+     * Keyset pagination: fetch limit+1 rows starting after the cursor,
+     * if the extra row shows up there's another page
+     *
+     * @param userId User ID from JWT token
+     * @param limit Page size (clamped to 1..MAX_PAGE_SIZE)
+     * @param cursor nextCursor from the previous page, null for the first page
+     * @return Page of transaction DTOs + cursor for the next one
+     */
+    public TransactionPageResponse getUserTransactionsPage(Long userId, int limit, String cursor) {
+        return getUserTransactionsPage(userId, limit, cursor, null);
+    }
+
+    /**
+     * Same as above but only pages through rows matching the filter
+     * The cursor predicate just becomes one more clause in the Specification
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getUserTransactionsPage(
+            Long userId, int limit, String cursor, TransactionFilter filter) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        TransactionCursor after = (cursor == null || cursor.isBlank())
+                ? null
+                : TransactionCursor.decode(cursor);
+
+        List<TransactionResponse> rows;
+        if (filter != null && !filter.isEmpty()) {
+            validateFilter(filter);
+
+            Specification<Transaction> spec = TransactionSpecifications.matching(userId, filter);
+            if (after != null) {
+                spec = spec.and(TransactionSpecifications.after(after.createdAt(), after.id()));
+            }
+            rows = transactionRepository.findResponses(spec, fetchLimit);
+        } else if (after == null) {
+            rows = transactionRepository.findResponsePage(userId, fetchLimit);
+        } else {
+            rows = transactionRepository.findResponsePageAfterCursor(
+                    userId, after.createdAt(), after.id(), fetchLimit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = rows.get(rows.size() - 1);
+            nextCursor = new TransactionCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return new TransactionPageResponse(rows, nextCursor, hasMore);
+    }
+
+    /**
+     * Income / expense / net + per-category totals for one month
+     *
+     * Reads the pre-aggregated monthly_category_totals rollup -> a few rows
+     * (at most categories x types) no matter how many transactions there are,
+     * the income/expense totals are just summed from those rows
+     *
+     * @param userId User ID from JWT token
+     * @param month Month (1-12)
+     * @param year Year
+     * @return Summary DTO (all zeros + empty list if no transactions)
+     */
+    public MonthlySummaryResponse getMonthlySummary(Long userId, Integer month, Integer year) {
+        if (month == null || month < 1 || month > 12) {
+            throw new InvalidRequestException("Month must be between 1 and 12");
+        }
+        if (year == null) {
+            throw new InvalidRequestException("Year is required");
+        }
+
+        List<CategoryTotal> categories = monthlyRollupService.getTotals(userId, year, month);
+
+        BigDecimal income = BigDecimal.ZERO;
+        BigDecimal expense = BigDecimal.ZERO;
+        for (CategoryTotal row : categories) {
+            if (row.getType() == TransactionType.INCOME) {
+                income = income.add(row.getTotal());
+            } else {
+                expense = expense.add(row.getTotal());
+            }
+        }
+
+        return new MonthlySummaryResponse(month, year, income, expense, income.subtract(expense), categories);
     }
 
     /**
@@ -100,20 +328,12 @@ public class TransactionService {
      * @throws TransactionNotFoundException if not found or
     doesn't belong to user
      */
+    @Transactional(readOnly = true)
     public TransactionResponse getTransactionById(Long transactionId, Long userId) {
-        Transaction transaction =
-                transactionRepository.findById(transactionId)
-                        .orElseThrow(() -> new
-                                TransactionNotFoundException(transactionId));
-
-        // SECURITY CHECK: Does this transaction belong to the requesting user?
-        if (!transaction.getUser().getId().equals(userId))
-        {
-            throw new
-                    TransactionNotFoundException(transactionId);
-        }
-
-        return toDTO(transaction);
+        // SECURITY CHECK: owner is part of the WHERE, someone else's id = not found
+        return transactionRepository.findResponseByIdAndUserId(transactionId, userId)
+                .orElseThrow(() -> new
+                        TransactionNotFoundException(transactionId));
     }
 
     /**
@@ -133,6 +353,7 @@ public class TransactionService {
      * @throws TransactionNotFoundException if not found or
     doesn't belong to user
      */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
     public TransactionResponse updateTransaction(
             Long transactionId,
             UpdateTransactionRequest req,
@@ -148,6 +369,9 @@ public class TransactionService {
             throw new TransactionNotFoundException(transactionId);
         }
 
+        // Snapshot before changing anything so the old rollup bucket can be decremented
+        MonthlyRollupService.Contribution before = MonthlyRollupService.Contribution.of(transaction);
+
         // Update only non-null fields (partial update)
         if (req.getAmount() != null) {
             transaction.setAmount(req.getAmount());
@@ -167,6 +391,9 @@ public class TransactionService {
 
         // Save and return
         Transaction updated = transactionRepository.save(transaction);
+        monthlyRollupService.recordUpdated(before, MonthlyRollupService.Contribution.of(updated));
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.TRANSACTION);
         return toDTO(updated);
     }
 
@@ -181,6 +408,7 @@ public class TransactionService {
      * @throws TransactionNotFoundException if not found or
     doesn't belong to user
      */
+    @Transactional(timeout = WriteTransactionDeadline.TIMEOUT_SECONDS)
     public void deleteTransaction(Long transactionId, Long userId) {
         Transaction transaction =
                 transactionRepository.findById(transactionId)
@@ -192,6 +420,24 @@ public class TransactionService {
         }
 
         transactionRepository.delete(transaction);
+        tombstoneRepository.save(Tombstone.of(userId, SyncEntityType.TRANSACTION, transactionId));
+        monthlyRollupService.recordDeleted(MonthlyRollupService.Contribution.of(transaction));
+        userDataVersions.bump(userId);
+        changeEventHub.publish(userId, SyncEntityType.TRANSACTION);
+    }
+
+    /**
+     * Reject ranges that can never match anything
+     */
+    private void validateFilter(TransactionFilter filter) {
+        if (filter.getStartDate() != null && filter.getEndDate() != null
+                && filter.getStartDate().isAfter(filter.getEndDate())) {
+            throw new InvalidFilterException("startDate must be on or before endDate");
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null
+                && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new InvalidFilterException("minAmount must be <= maxAmount");
+        }
     }
 
     /**
@@ -200,7 +446,7 @@ public class TransactionService {
      *
      * Keeps conversion logic in one place
      */
-    private TransactionResponse toDTO(Transaction transaction) {
+    public TransactionResponse toDTO(Transaction transaction) {
         return new TransactionResponse(
                 transaction.getId(),
                 transaction.getUser().getId(),
@@ -0,0 +1,114 @@
+package com.finance.ashipfd.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UserDataVersions
+ * One version number per user that changes whenever any of their
+ * transactions / budgets / category budgets change. The GET endpoints turn
+ * it into an ETag and answer If-None-Match with 304 before touching the db
+ *
+ * - Bounded: max-size users, an entry goes away idle-ttl after its last use
+ * - Versions come from ONE counter for the whole app, seeded from the clock
+ *   at startup. A user whose entry was dropped (or an app restart) gets a
+ *   brand new number, never an old one, so a stale ETag can't match -
+ *   forgetting a user just costs them one full 200
+ * - The ETag also carries a random per-boot prefix, so with several instances
+ *   one instance's numbers never validate against another's data
+ *
+ * Writes bump AFTER commit: a reader that sees the new version is
+ * guaranteed to read the committed rows. The bump is an afterCompletion
+ * ordered after BudgetCache's eviction (Spring runs every afterCommit before
+ * any afterCompletion) - otherwise a GET in between could pair the new ETag
+ * with the old cached body. ChangeEventHub's push is ordered after the bump
+ */
+@Component
+public class UserDataVersions {
+
+    /**
+     * afterCompletion order - after BudgetCache.EVICTION_ORDER, before ChangeEventHub's push
+     */
+    private static final int BUMP_ORDER = Ordered.LOWEST_PRECEDENCE - 50;
+
+    private final Cache<Long, Long> versions;
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    @Autowired
+    public UserDataVersions(
+            @Value("${data-version.max-users:500000}") long maxUsers,
+            @Value("${data-version.idle-ttl:1h}") Duration idleTtl) {
+        this(maxUsers, idleTtl, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Tests pass Runnable::run so size evictions happen right away
+     */
+    UserDataVersions(long maxUsers, Duration idleTtl, Executor maintenanceExecutor) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(idleTtl)
+                .executor(maintenanceExecutor)
+                .build();
+    }
+
+    /**
+     * User's current version (a fresh one if we weren't tracking them)
+     */
+    public long current(Long userId) {
+        return versions.get(userId, k -> sequence.incrementAndGet());
+    }
+
+    /**
+     * Strong ETag for everything the user can read right now
+     * Read it BEFORE querying, so the body is never older than its tag
+     */
+    public String etag(Long userId) {
+        return "\"" + instance + "-" + Long.toString(current(userId), 36) + "\"";
+    }
+
+    /**
+     * User's data changed - new version once the db transaction commits
+     * (right away outside one). Rolled back = nothing changed, no bump
+     */
+    public void bump(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            versions.put(userId, sequence.incrementAndGet());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    versions.put(userId, sequence.incrementAndGet());
+                }
+            }
+
+            @Override
+            public int getOrder() {
+                return BUMP_ORDER;
+            }
+        });
+    }
+
+    /**
+     * Users currently tracked (tests / sizing)
+     */
+    long size() {
+        versions.cleanUp();
+        return versions.estimatedSize();
+    }
+}
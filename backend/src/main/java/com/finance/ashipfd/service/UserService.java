@@ -5,11 +5,20 @@ import com.finance.ashipfd.dto.LoginRequest;
 import com.finance.ashipfd.repository.UserRepository;
 import com.finance.ashipfd.model.User;
 import com.finance.ashipfd.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.finance.ashipfd.security.PasswordHasher;
+import com.finance.ashipfd.security.VerifiedTokenCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import com.finance.ashipfd.exception.AuthCapacityExceededException;
 import com.finance.ashipfd.exception.EmailAlreadyExistsException;
 import com.finance.ashipfd.exception.InvalidCredentialsException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 
 /**
  * Service layer for User-related business logic
@@ -21,34 +30,50 @@ import com.finance.ashipfd.exception.InvalidCredentialsException;
  */
 @Service //Service BEAN, tells spring basically to manage for me
 public class UserService {
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache tokenCache;
+
+    /**
+     * DB writes that follow a hash. Kept off the PasswordHasher pool, otherwise a
+     * slow db (waiting on a connection / the bulkhead) holds BCrypt slots and
+     * logins get 503s for no CPU reason. Virtual threads - they mostly wait
+     */
+    private final ExecutorService dbWrites = Executors.newVirtualThreadPerTaskExecutor();
 
     /**
      * CONSTRUCTOR FOR INJECTION
      *  - Will find the beans and pass them in automatically
      * @param userRepository
-     * @param passwordEncoder
+     * @param passwordHasher
      */
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil) {
+    public UserService(
+            UserRepository userRepository,
+            PasswordHasher passwordHasher,
+            JwtUtil jwtUtil,
+            VerifiedTokenCache tokenCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
         this.jwtUtil = jwtUtil;
+        this.tokenCache = tokenCache;
     }
 
     /**
      * Register new user
      *
      * 1. Check if email alr exists
-     * 2. Hash password
-     * 3. Create and save user
+     * 2. Hash password (on the PasswordHasher pool, not this thread)
+     * 3. Create and save user (on dbWrites, not the hasher pool)
      * 4. Return saved user
      * @param request DTO containing reg data from client
-     * @return newly created user entity
-     * @throws RuntimeException if email alr exists
+     * @return Future newly created user entity (saved once the hash is ready)
+     * @throws EmailAlreadyExistsException if email alr exists
+     * @throws AuthCapacityExceededException if the hasher is saturated (right away, before any hashing)
      */
-    public User registerUser(RegisterRequest request) {
+    public CompletableFuture<User> registerUser(RegisterRequest request) {
         // Check if email already exists
         if (userRepository.existsByEmail(request.getEmail())) {
             throw new EmailAlreadyExistsException(request.getEmail());
@@ -57,13 +82,16 @@ public class UserService {
         // Create new user entity
         User user = new User();
         user.setEmail(request.getEmail());
-
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
 
-        return userRepository.save(user);
+        // Hashing runs on the bounded hasher pool (503 if it's swamped),
+        // the request thread doesn't wait for it. The insert runs on dbWrites
+        return passwordHasher.encode(request.getPassword())
+                .thenApplyAsync(hash -> {
+                    user.setPassword(hash);
+                    return userRepository.save(user);
+                }, dbWrites);
     }
 
     public User findByEmail(String email) {
@@ -80,23 +108,66 @@ public class UserService {
      * Login user + gen JWT token
      *
      * 1. Find user by email
-     * 2. Verify pswd using BCrypt
+     * 2. Verify pswd using BCrypt (on the PasswordHasher pool, not this thread)
      * 3. Gen JWT token
-     * 4. Return le token
+     * 4. If the stored hash uses an old/lower cost -> rehash in the background
+     * 5. Return le token
      *
      * @param req login creds
-     * @return JWT token string
-     * @throws InvalidCredentialsException if email not found or pswd wrong
+     * @return Future JWT token string, fails with InvalidCredentialsException
+     *         if pswd wrong
+     * @throws InvalidCredentialsException if email not found
+     * @throws AuthCapacityExceededException if the hasher is saturated (right away, before any hashing)
      */
-    public String loginUser(LoginRequest req) {
+    public CompletableFuture<String> loginUser(LoginRequest req) {
         User user = userRepository.findByEmail(req.getEmail())
                 .orElseThrow(InvalidCredentialsException::new);
 
-        if (!passwordEncoder.matches(req.getPassword(),
-                user.getPassword())) {
-            throw new InvalidCredentialsException();
+        String storedHash = user.getPassword();
+        return passwordHasher.matches(req.getPassword(), storedHash)
+                .thenApply(matches -> {
+                    if (!matches) {
+                        throw new InvalidCredentialsException();
+                    }
+                    if (passwordHasher.needsRehash(storedHash)) {
+                        rehash(user.getId(), storedHash, req.getPassword());
+                    }
+                    return jwtUtil.generateToken(user.getEmail(), user.getId());
+                });
+    }
+
+    /**
+     * Upgrade a stored hash to the current BCrypt cost
+     *
+     * Best effort: doesn't hold up the login, skipped if the hasher is busy
+     * (next login tries again). Only writes if the hash is still the one we
+     * checked, so a password change in between isn't overwritten
+     */
+    private void rehash(Long userId, String oldHash, String rawPassword) {
+        try {
+            passwordHasher.encode(rawPassword)
+                    .thenAcceptAsync(newHash -> userRepository.updatePasswordIfUnchanged(userId, oldHash, newHash), dbWrites)
+                    .exceptionally(e -> {
+                        log.warn("Password rehash failed for user {}", userId, e);
+                        return null;
+                    });
+        } catch (AuthCapacityExceededException e) {
+            log.debug("Hasher busy, skipping password rehash for user {}", userId);
         }
+    }
+
+    /**
+     * Log out = revoke the token so it stops working before its exp
+     * Already invalid/expired tokens are just ignored
+     *
+     * @param token Raw JWT (no "Bearer " prefix)
+     */
+    public void logoutUser(String token) {
+        tokenCache.revoke(token);
+    }
 
-        return jwtUtil.generateToken(user.getEmail(), user.getId());
+    @PreDestroy
+    void shutdown() {
+        dbWrites.shutdown();
     }
 }
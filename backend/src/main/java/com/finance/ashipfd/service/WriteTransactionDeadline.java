@@ -0,0 +1,73 @@
+package com.finance.ashipfd.service;
+
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.ResourceHolderSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Date;
+
+/**
+ * WriteTransactionDeadline
+ * Hard upper bound on how long a write that stamps updated_at can run before it commits
+ *
+ * Delta sync (SyncService) hands back now - sync.overlap as the next watermark.
+ * A row stamped at T only shows up in a diff once it's committed, so that's only
+ * safe if nothing commits more than overlap after it stamped. This is the bound:
+ *
+ * - @Transactional(timeout = TIMEOUT_SECONDS) on the service methods that stamp
+ *   updated_at or write tombstones -> every statement (flush included) gets the
+ *   remaining time as its query timeout, and none start past the deadline
+ * - this listener -> a write transaction still open at its deadline is rolled
+ *   back in beforeCommit, even if it spent the time outside the db
+ *
+ * Boot registers TransactionExecutionListener beans on the transaction manager.
+ * Only read-write transactions that declared a timeout are checked - reads and
+ * maintenance (tombstone purge, rollup rebuild) don't stamp anything, so they
+ * stay unbounded
+ */
+@Component
+public class WriteTransactionDeadline implements TransactionExecutionListener {
+
+    /**
+     * Timeout for the writes delta sync depends on, sync.overlap must be longer
+     */
+    public static final int TIMEOUT_SECONDS = 30;
+
+    public static final Duration LIMIT = Duration.ofSeconds(TIMEOUT_SECONDS);
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure != null || transaction.isReadOnly()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        // The transaction manager put the @Transactional timeout on the holders it just bound
+        Date deadline = TransactionSynchronizationManager.getResourceMap().values().stream()
+                .filter(ResourceHolderSupport.class::isInstance)
+                .map(ResourceHolderSupport.class::cast)
+                .filter(ResourceHolderSupport::hasTimeout)
+                .map(ResourceHolderSupport::getDeadline)
+                .min(Date::compareTo)
+                .orElse(null);
+        if (deadline == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Thrown here = rolled back, nothing it stamped becomes visible late
+                // (NOT a TransactionException - the manager takes those for a failed
+                // commit and skips the rollback)
+                if (System.currentTimeMillis() > deadline.getTime()) {
+                    throw new QueryTimeoutException(
+                            "Write transaction ran past its deadline - rolled back so delta sync can't miss it");
+                }
+            }
+        });
+    }
+}
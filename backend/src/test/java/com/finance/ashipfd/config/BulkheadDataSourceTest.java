@@ -0,0 +1,92 @@
+package com.finance.ashipfd.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkheadDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    @Test
+    void closingConnectionReturnsPermitOnce() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 2, Duration.ofMillis(50), 10);
+
+        Connection first = bulkhead.getConnection();
+        bulkhead.getConnection();
+        assertThat(bulkhead.getInUse()).isEqualTo(2);
+
+        first.close();
+        first.close();
+        assertThat(bulkhead.getInUse()).isEqualTo(1);
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void waitsForAPermitThenTimesOut() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofMillis(50), 10);
+        bulkhead.getConnection();
+
+        assertThatThrownBy(bulkhead::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Database busy");
+        assertThat(bulkhead.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterGetsPermitWhenConnectionCloses() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofSeconds(5), 10);
+        Connection held = bulkhead.getConnection();
+
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.getConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        await().atMost(2, TimeUnit.SECONDS).until(() -> bulkhead.getWaiting() == 1);
+
+        held.close();
+        assertThat(waiter.get(2, TimeUnit.SECONDS)).isNotNull();
+        assertThat(bulkhead.getInUse()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsRightAwayWhenTooManyWaiting() throws Exception {
+        when(pool.getConnection()).thenReturn(connection);
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofSeconds(30), 0);
+        bulkhead.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)).isLessThan(1);
+    }
+
+    @Test
+    void permitIsReturnedWhenPoolFails() throws Exception {
+        when(pool.getConnection()).thenThrow(new SQLException("pool timeout"));
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, 1, Duration.ofMillis(50), 10);
+
+        assertThatThrownBy(bulkhead::getConnection).hasMessage("pool timeout");
+        assertThat(bulkhead.getInUse()).isZero();
+    }
+}
@@ -0,0 +1,32 @@
+package com.finance.ashipfd.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulkhead + query counting both on: the bulkhead wraps the Hikari pool
+ * (so it can size itself from it), the counting DataSource wraps the bulkhead
+ */
+@SpringBootTest(properties = {
+        // own db so this context's create-drop can't touch the other tests' tables
+        "spring.datasource.url=jdbc:h2:mem:wrapping;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=MONTH,YEAR",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "db.bulkhead.enabled=true"
+})
+class DataSourceWrappingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void countingWrapsBulkheadWrapsPool() throws Exception {
+        assertThat(dataSource).isInstanceOf(QueryCountingDataSource.class);
+        assertThat(dataSource.isWrapperFor(BulkheadDataSource.class)).isTrue();
+        assertThat(dataSource.unwrap(BulkheadDataSource.class).getMaxPermits()).isEqualTo(7);
+    }
+}
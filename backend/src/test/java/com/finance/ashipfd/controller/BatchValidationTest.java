@@ -0,0 +1,94 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /api/transactions/batch
+ * Bean validation actually runs on the request: one bad item or too many
+ * items = 400 and nothing saved
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class BatchValidationTest {
+
+    private static final String VALID = """
+            {"amount": 45.50, "type": "EXPENSE", "category": "GROCERIES", "transactionDate": "2025-12-15"}""";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private Long userId;
+    private String token;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("batch-" + System.nanoTime() + "@test.com");
+        user.setPassword("not-used");
+        userId = userRepository.save(user).getId();
+        token = "Bearer " + jwtUtil.generateToken(user.getEmail(), userId);
+    }
+
+    @Test
+    void validBatchIsCreated() throws Exception {
+        assertThat(post(batch(VALID, VALID)).statusCode()).isEqualTo(201);
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).hasSize(2);
+    }
+
+    @Test
+    void oneInvalidItemRejectsTheWholeBatch() throws Exception {
+        HttpResponse<String> res = post(batch(VALID, """
+                {"amount": -1, "type": "EXPENSE", "category": "GROCERIES"}"""));
+
+        assertThat(res.statusCode()).isEqualTo(400);
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).isEmpty();
+    }
+
+    @Test
+    void batchOverTheCapIsRejected() throws Exception {
+        String[] items = Collections.nCopies(BulkCreateTransactionRequest.MAX_BATCH_SIZE + 1, VALID)
+                .toArray(String[]::new);
+
+        assertThat(post(batch(items)).statusCode()).isEqualTo(400);
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).isEmpty();
+    }
+
+    private String batch(String... items) {
+        return "{\"transactions\": [" + String.join(",", items) + "]}";
+    }
+
+    private HttpResponse<String> post(String json) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/transactions/batch"))
+                .header("Authorization", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
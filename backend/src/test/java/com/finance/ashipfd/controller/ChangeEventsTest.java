@@ -0,0 +1,183 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.service.BudgetService;
+import com.finance.ashipfd.service.ChangeEventHub;
+import com.finance.ashipfd.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/events
+ * Committed writes reach the user's open streams, rolled back ones don't,
+ * a user over the per-tab cap loses their oldest stream, and shutdown hangs up all of them
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ChangeEventsTest {
+
+    /**
+     * Marks a stream the server closed
+     */
+    private static final String END = "<end>";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private ChangeEventHub changeEventHub;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private Long userId;
+    private String token;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("events-" + System.nanoTime() + "@test.com");
+        user.setPassword("not-used");
+        userId = userRepository.save(user).getId();
+        token = "Bearer " + jwtUtil.generateToken(user.getEmail(), userId);
+    }
+
+    @Test
+    void committedWritesArePushedRolledBackOnesAreNot() throws Exception {
+        BlockingQueue<String> lines = open();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            createTransaction();
+            status.setRollbackOnly();
+        });
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.CATEGORY_SUM, null), userId);
+
+        // First event is the budget - the rolled back transaction never got one
+        assertThat(nextData(lines)).isEqualTo("{\"types\":[\"BUDGET\"]}");
+
+        createTransaction();
+        assertThat(nextData(lines)).isEqualTo("{\"types\":[\"TRANSACTION\"]}");
+    }
+
+    @Test
+    void oldestStreamIsDroppedOverThePerUserCap() throws Exception {
+        int others = changeEventHub.connectionCount();
+        BlockingQueue<String> oldest = open();
+        for (int i = 1; i < 5; i++) {
+            open();
+        }
+        assertThat(changeEventHub.connectionCount()).isEqualTo(others + 5);
+
+        open();
+
+        assertThat(changeEventHub.connectionCount()).isEqualTo(others + 5);
+        assertThat(drain(oldest)).isEqualTo(END);
+    }
+
+    @Test
+    void shutdownHangsUpEveryStream() throws Exception {
+        BlockingQueue<String> first = open();
+        BlockingQueue<String> second = open();
+
+        changeEventHub.stop();
+        try {
+            assertThat(drain(first)).isEqualTo(END);
+            assertThat(drain(second)).isEqualTo(END);
+            assertThat(changeEventHub.connectionCount()).isZero();
+        } finally {
+            // shared context - later tests still need the hub
+            changeEventHub.start();
+        }
+    }
+
+    /**
+     * Opens a stream and returns its lines as they arrive (END once it closes)
+     * Headers are back = subscribed, writes after this are delivered
+     */
+    private BlockingQueue<String> open() throws Exception {
+        HttpResponse<Stream<String>> res = http.sendAsync(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events"))
+                        .header("Authorization", token)
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build(), HttpResponse.BodyHandlers.ofLines())
+                .get(10, TimeUnit.SECONDS);
+        assertThat(res.statusCode()).isEqualTo(200);
+
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        Thread.ofVirtual().start(() -> {
+            try (Stream<String> body = res.body()) {
+                body.forEach(lines::add);
+            } catch (UncheckedIOException e) {
+                // connection reset - same as closed for these tests
+            }
+            lines.add(END);
+        });
+        return lines;
+    }
+
+    /**
+     * Skips lines until the stream closes (END) or 10s pass (null)
+     */
+    private String drain(BlockingQueue<String> lines) throws InterruptedException {
+        String line;
+        do {
+            line = lines.poll(10, TimeUnit.SECONDS);
+        } while (line != null && !line.equals(END));
+        return line;
+    }
+
+    private String nextData(BlockingQueue<String> lines) throws InterruptedException {
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).isNotNull().isNotEqualTo(END);
+            if (line.startsWith("data:")) {
+                return line.substring("data:".length()).trim();
+            }
+        }
+    }
+
+    private void createTransaction() {
+        transactionService.createTransaction(new CreateTransactionRequest(
+                new BigDecimal("12.00"), TransactionType.EXPENSE, TransactionCategory.GROCERIES, null,
+                LocalDate.of(2026, 1, 5)), userId);
+    }
+}
@@ -0,0 +1,112 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.service.BudgetCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETag / If-None-Match on the dashboard reads
+ * A matching tag is a 304 without a cache or db lookup, any write by the
+ * same user changes the tag
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ConditionalGetTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private BudgetCache budgetCache;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    private String token;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("etag-" + System.nanoTime() + "@test.com");
+        user.setPassword("not-used");
+        Long userId = userRepository.save(user).getId();
+        token = "Bearer " + jwtUtil.generateToken(user.getEmail(), userId);
+    }
+
+    @Test
+    void matchingEtagIs304UntilTheUserWrites() throws Exception {
+        HttpResponse<String> first = get("/api/budgets/categories?month=1&year=2026", null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(first.headers().firstValue("Cache-Control")).hasValueSatisfying(
+                v -> assertThat(v).contains("no-cache").contains("private"));
+
+        long lookups = budgetCache.categoryBudgetStats().hits() + budgetCache.categoryBudgetStats().misses();
+        HttpResponse<String> again = get("/api/budgets/categories?month=1&year=2026", etag);
+        assertThat(again.statusCode()).isEqualTo(304);
+        assertThat(again.body()).isEmpty();
+        assertThat(budgetCache.categoryBudgetStats().hits() + budgetCache.categoryBudgetStats().misses())
+                .isEqualTo(lookups);
+
+        // Same user-wide version backs the other reads
+        assertThat(get("/api/transactions", etag).statusCode()).isEqualTo(304);
+        assertThat(get("/api/transactions?limit=10", etag).statusCode()).isEqualTo(304);
+        assertThat(get("/api/budgets?month=1&year=2026", etag).statusCode()).isEqualTo(304);
+
+        put("/api/budgets/categories", """
+                {"month": 1, "year": 2026, "category": "GROCERIES", "amount": 400.00}
+                """);
+
+        HttpResponse<String> changed = get("/api/budgets/categories?month=1&year=2026", etag);
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.body()).contains("GROCERIES");
+        assertThat(changed.headers().firstValue("ETag")).hasValueSatisfying(v -> assertThat(v).isNotEqualTo(etag));
+        assertThat(get("/api/transactions", etag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void anotherUsersEtagNeverMatches() throws Exception {
+        String etag = get("/api/transactions", null).headers().firstValue("ETag").orElseThrow();
+
+        createUser();
+
+        assertThat(get("/api/transactions", etag).statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder req = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", token)
+                .GET();
+        if (ifNoneMatch != null) {
+            req.header("If-None-Match", ifNoneMatch);
+        }
+        return http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void put(String path, String json) throws Exception {
+        HttpResponse<String> res = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(res.statusCode()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,150 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: normal API calls during a login flood
+ *
+ * Small Tomcat pool (8) + 24 clients spamming /api/auth/login at BCrypt cost 10.
+ * If BCrypt ran on Tomcat threads every worker would be stuck hashing and API
+ * calls would wait seconds for a thread. With the bounded hasher the logins
+ * park off-thread or get a quick 503, so API latency stays in the same ballpark.
+ *
+ * Prints baseline vs flood latency so the numbers show up in the test log
+ * Tagged "load", runs with mvn -Ploadtest test
+ */
+@Tag("load")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "server.tomcat.threads.max=8",
+                "auth.bcrypt.strength=10",
+                "auth.hashing.threads=1",
+                "auth.hashing.queue-capacity=8"
+        })
+class LoginFloodTest {
+
+    private static final int FLOOD_CLIENTS = 24;
+    private static final int API_SAMPLES = 60;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void apiLatencyStaysStableDuringLoginFlood() throws Exception {
+        String email = "flood-" + System.nanoTime() + "@test.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(new BCryptPasswordEncoder(10).encode("hunter22"));
+        Long userId = userRepository.save(user).getId();
+        String token = jwtUtil.generateToken(email, userId);
+
+        // Warm up + baseline
+        sampleApi(token, 20);
+        List<Long> baseline = sampleApi(token, API_SAMPLES);
+
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        ExecutorService flood = Executors.newFixedThreadPool(FLOOD_CLIENTS);
+        String loginBody = "{\"email\":\"" + email + "\",\"password\":\"hunter22\"}";
+        for (int i = 0; i < FLOOD_CLIENTS; i++) {
+            flood.submit(() -> {
+                while (flooding.get()) {
+                    try {
+                        int status = http.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                                        .header("Content-Type", "application/json")
+                                        .POST(HttpRequest.BodyPublishers.ofString(loginBody))
+                                        .build(),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                        (status == 200 ? ok : status == 503 ? rejected : other).incrementAndGet();
+                    } catch (Exception e) {
+                        other.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        List<Long> underFlood;
+        try {
+            Thread.sleep(300);
+            underFlood = sampleApi(token, API_SAMPLES);
+        } finally {
+            flooding.set(false);
+            flood.shutdown();
+            flood.awaitTermination(30, TimeUnit.SECONDS);
+        }
+
+        long baselineP95 = percentile(baseline, 95);
+        long floodP95 = percentile(underFlood, 95);
+        System.out.printf("Login flood: api p50 %d -> %d ms, p95 %d -> %d ms; logins ok=%d rejected(503)=%d other=%d%n",
+                percentile(baseline, 50), percentile(underFlood, 50), baselineP95, floodP95,
+                ok.get(), rejected.get(), other.get());
+
+        assertThat(ok.get()).as("some logins succeed").isPositive();
+        assertThat(rejected.get()).as("overflow is shed with 503").isPositive();
+        assertThat(other.get()).as("no timeouts/errors").isZero();
+        assertThat(floodP95).as("API p95 under login flood (ms)").isLessThan(Math.max(1_000, baselineP95 * 20));
+    }
+
+    private List<Long> sampleApi(String token, int samples) throws Exception {
+        List<Long> millis = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            long start = System.nanoTime();
+            int status = http.send(HttpRequest.newBuilder(uri("/api/budgets/status?month=1&year=2026"))
+                            .header("Authorization", "Bearer " + token)
+                            .GET()
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode();
+            millis.add((System.nanoTime() - start) / 1_000_000);
+            assertThat(status).isEqualTo(200);
+        }
+        return millis;
+    }
+
+    private static long percentile(List<Long> values, int p) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
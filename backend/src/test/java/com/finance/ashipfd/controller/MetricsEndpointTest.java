@@ -0,0 +1,104 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * /actuator/** has its own security chain: health is public, prometheus needs
+ * the metrics basic-auth user, and API JWTs don't work there (or vice versa)
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "metrics.enabled=true",
+                "metrics.username=scraper",
+                "metrics.password=scrape-me"
+        })
+class MetricsEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void healthIsPublic() throws Exception {
+        assertThat(get("/actuator/health", null).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void prometheusNeedsMetricsUser() throws Exception {
+        assertThat(get("/actuator/prometheus", null).statusCode()).isEqualTo(401);
+        assertThat(get("/actuator/prometheus", basic("scraper", "wrong")).statusCode()).isEqualTo(401);
+        assertThat(get("/actuator/prometheus", "Bearer " + apiToken()).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void metricsUserCannotCallApi() throws Exception {
+        assertThat(get("/api/budgets/status?month=1&year=2026", basic("scraper", "scrape-me")).statusCode())
+                .isEqualTo(403);
+    }
+
+    @Test
+    void prometheusExposesRequestHibernateHikariJvmAndAppMeters() throws Exception {
+        String token = "Bearer " + apiToken();
+        assertThat(get("/api/budgets/status?month=1&year=2026", token).statusCode()).isEqualTo(200);
+
+        HttpResponse<String> res = get("/actuator/prometheus", basic("scraper", "scrape-me"));
+
+        assertThat(res.statusCode()).isEqualTo(200);
+        assertThat(res.body()).contains(
+                "http_server_requests_seconds_bucket{",
+                "uri=\"/api/budgets/status\"",
+                "hibernate_query_executions_total",
+                "hibernate_flushes_total",
+                "hibernate_entities_loads_total",
+                "hikaricp_connections_acquire_seconds",
+                "hikaricp_connections_active",
+                "jvm_gc_memory_allocated_bytes_total",
+                "app_cache_requests_total{",
+                "app_jwt_verifications_total{",
+                "app_auth_hashing_pending",
+                "app_ratelimit_buckets");
+    }
+
+    private String apiToken() {
+        User user = new User();
+        user.setEmail("metrics-" + System.nanoTime() + "@test.com");
+        user.setPassword("not-used");
+        Long userId = userRepository.save(user).getId();
+        return jwtUtil.generateToken(user.getEmail(), userId);
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpResponse<String> get(String path, String authorization) throws Exception {
+        HttpRequest.Builder req = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET();
+        if (authorization != null) {
+            req.header("Authorization", authorization);
+        }
+        return http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,45 @@
+package com.finance.ashipfd.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * POST /api/auth/register is async (hashing on the hasher pool) -
+ * the response still comes back like a plain controller's would
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class RegisterEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void registerThenDuplicate() throws Exception {
+        String body = """
+                {"email": "reg-%d@test.com", "password": "hunter22", "firstName": "A", "lastName": "B"}
+                """.formatted(System.nanoTime());
+
+        HttpResponse<String> created = post(body);
+        assertThat(created.statusCode()).isEqualTo(201);
+        assertThat(created.body()).contains("Registered Successfully");
+
+        assertThat(post(body).statusCode()).isEqualTo(409);
+    }
+
+    private HttpResponse<String> post(String json) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,213 @@
+package com.finance.ashipfd.controller;
+
+import com.finance.ashipfd.AshiPfdApplication;
+import com.finance.ashipfd.config.BulkheadDataSource;
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import com.finance.ashipfd.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test: platform-thread Tomcat vs virtual threads + db bulkhead
+ *
+ * Boots the app twice on its own H2 db (once per mode), seeds a few users,
+ * then CLIENTS concurrent clients loop over the read endpoints the dashboard
+ * hits (transaction page, monthly summary, budget status) for RUN_SECONDS.
+ *
+ * Prints throughput + p50/p99 per mode so the numbers show up in the test log.
+ * Only correctness is asserted (no errors) - the timings depend on the box.
+ *
+ * Tagged "load", runs with mvn -Ploadtest test
+ * Bigger run: mvn -Ploadtest test -Dtest=ThreadModeLoadTest -Dloadtest.clients=1000 -Dloadtest.seconds=15
+ *
+ * Last run (1 CPU sandbox, in-memory H2, pool of 10):
+ *
+ *   mvn -Ploadtest test -Dtest=ThreadModeLoadTest            (200 clients / 4s)
+ *   mode       req/s   p50 ms   p99 ms
+ *   platform     180      887     2057
+ *   virtual      174      907     2840
+ *
+ *   ... -Dloadtest.clients=1000 -Dloadtest.seconds=15         (1000 clients / 15s)
+ *   platform     231     2496    11059
+ *   virtual      342     2816     6747
+ *
+ * No 503s or errors in either mode. With one CPU the work is CPU-bound, so the
+ * modes only pull apart once clients far outnumber Tomcat's 200 platform threads:
+ * then virtual threads + the bulkhead get ~1.5x the throughput and ~40% lower p99
+ */
+@Tag("load")
+class ThreadModeLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 200);
+    private static final int RUN_SECONDS = Integer.getInteger("loadtest.seconds", 4);
+    private static final int USERS = 20;
+    private static final int TRANSACTIONS_PER_USER = 200;
+    private static final int POOL_SIZE = 10;
+
+    private record Result(String mode, long requests, double throughput, long p50, long p99,
+                          int serviceUnavailable, int errors) {
+    }
+
+    @Test
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%-9s %9s %10s %8s %8s %5s %6s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms", "503", "errors");
+        for (Result r : List.of(platform, virtual)) {
+            System.out.printf("%-9s %9d %10.1f %8d %8d %5d %6d%n",
+                    r.mode(), r.requests(), r.throughput(), r.p50(), r.p99(), r.serviceUnavailable(), r.errors());
+        }
+
+        assertThat(platform.errors()).as("platform errors").isZero();
+        assertThat(virtual.errors()).as("virtual errors").isZero();
+        assertThat(platform.requests()).isPositive();
+        assertThat(virtual.requests()).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(AshiPfdApplication.class)
+                .properties(
+                        "server.port=0",
+                        // own db so closing this context can't drop tables under other tests
+                        "spring.datasource.url=jdbc:h2:mem:threadmode-" + mode
+                                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;NON_KEYWORDS=MONTH,YEAR",
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "db.bulkhead.enabled=" + virtualThreads)
+                .run()) {
+
+            if (virtualThreads) {
+                // QueryCountingDataSource wraps the bulkhead
+                assertThat(ctx.getBean(DataSource.class).isWrapperFor(BulkheadDataSource.class)).isTrue();
+            }
+
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            List<String> tokens = seed(ctx);
+
+            drive(port, tokens, 1, new ConcurrentLinkedQueue<>(), new AtomicInteger(), new AtomicInteger());
+
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicInteger unavailable = new AtomicInteger();
+            AtomicInteger errors = new AtomicInteger();
+            long start = System.nanoTime();
+            drive(port, tokens, RUN_SECONDS, latencies, unavailable, errors);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new Result(mode, sorted.size(), sorted.size() / seconds,
+                    percentile(sorted, 50), percentile(sorted, 99), unavailable.get(), errors.get());
+        }
+    }
+
+    private List<String> seed(ConfigurableApplicationContext ctx) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        TransactionService transactions = ctx.getBean(TransactionService.class);
+        JwtUtil jwtUtil = ctx.getBean(JwtUtil.class);
+
+        List<String> tokens = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail("load" + u + "@test.com");
+            user.setPassword("not-used");
+            Long userId = users.save(user).getId();
+
+            List<CreateTransactionRequest> rows = new ArrayList<>();
+            for (int i = 0; i < TRANSACTIONS_PER_USER; i++) {
+                rows.add(new CreateTransactionRequest(
+                        BigDecimal.valueOf(5 + i % 50), TransactionType.EXPENSE,
+                        TransactionCategory.values()[i % TransactionCategory.values().length],
+                        "load " + i, LocalDate.of(2026, 1 + i % 12, 1 + i % 28)));
+            }
+            transactions.createTransactions(new BulkCreateTransactionRequest(rows), userId);
+            tokens.add(jwtUtil.generateToken(user.getEmail(), userId));
+        }
+        return tokens;
+    }
+
+    /**
+     * CLIENTS virtual-thread clients, each looping requests until the time is up
+     */
+    private void drive(int port, List<String> tokens, int seconds, ConcurrentLinkedQueue<Long> latencies,
+                       AtomicInteger unavailable, AtomicInteger errors) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String token = tokens.get(random.nextInt(tokens.size()));
+                        int month = 1 + random.nextInt(12);
+                        String path = switch (random.nextInt(3)) {
+                            case 0 -> "/api/transactions?limit=50";
+                            case 1 -> "/api/transactions/summary?month=" + month + "&year=2026";
+                            default -> "/api/budgets/status?month=" + month + "&year=2026";
+                        };
+                        long start = System.nanoTime();
+                        try {
+                            int status = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                                            .header("Authorization", "Bearer " + token)
+                                            .timeout(Duration.ofSeconds(30))
+                                            .GET()
+                                            .build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 200) {
+                                latencies.add((System.nanoTime() - start) / 1_000_000);
+                            } else if (status == 503) {
+                                unavailable.incrementAndGet();
+                            } else {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        }
+    }
+
+    private static long percentile(List<Long> sorted, int p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
@@ -0,0 +1,169 @@
+package com.finance.ashipfd.loadtest;
+
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.service.BudgetService;
+import com.finance.ashipfd.service.TransactionService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test
+ *
+ * Boots the whole app on H2 (PostgreSQL mode, same as the other tests),
+ * seeds USERS users with TRANSACTIONS transactions each (spread over the
+ * last year) + budgets, then CLIENTS virtual-thread clients run
+ * LoadTestClient sessions (login, dashboard, month navigation, CRUD) for
+ * SECONDS after a warmup. Fails if any endpoint breaks its SLO (LoadTestSlo).
+ *
+ * Tagged "load": timing SLOs depend on the box, so plain mvn test skips it.
+ * The defaults are a smoke-sized run (mvn -Ploadtest test). Real run:
+ *
+ *   mvn -Ploadtest test -Dtest=LoadTest -Dloadtest.users=200 -Dloadtest.transactions=2000 \
+ *       -Dloadtest.clients=500 -Dloadtest.seconds=60 -Dloadtest.slo.p99-ms=500
+ *
+ * Other knobs: loadtest.warmup-seconds, loadtest.think-ms (pause between page loads)
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 20);
+    private static final int TRANSACTIONS = Integer.getInteger("loadtest.transactions", 100);
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 32);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 5);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 2);
+    private static final long THINK_MILLIS = Long.getLong("loadtest.think-ms", 0);
+
+    private static final String PASSWORD = "load-test-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void endpointsMeetSlo() throws Exception {
+        List<String> emails = seed();
+
+        LoadTestReport report = new LoadTestReport();
+        try (ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(httpExecutor)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+            LoadTestClient client = new LoadTestClient(http, "http://localhost:" + port, report, THINK_MILLIS);
+            long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+            long deadline = warmupEnd + TimeUnit.SECONDS.toNanos(SECONDS);
+
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    clients.submit(() -> {
+                        ThreadLocalRandom random = ThreadLocalRandom.current();
+                        while (System.nanoTime() < deadline) {
+                            client.runSession(emails.get(random.nextInt(emails.size())), PASSWORD, deadline);
+                        }
+                        return null;
+                    });
+                }
+
+                TimeUnit.NANOSECONDS.sleep(warmupEnd - System.nanoTime());
+                report.start();
+                TimeUnit.NANOSECONDS.sleep(Math.max(0, deadline - System.nanoTime()));
+                report.stop();
+            }
+        }
+
+        LoadTestSlo slo = LoadTestSlo.fromSystemProperties();
+        System.out.printf("Load test: %d users x %d transactions, %d clients, %ds (+%ds warmup), SLO p99 %.0fms / errors %.2f%%%n%s",
+                USERS, TRANSACTIONS, CLIENTS, SECONDS, WARMUP_SECONDS,
+                slo.defaultP99Millis(), slo.defaultErrorRate() * 100, report.format());
+
+        assertThat(report.rows()).as("requests recorded").isNotEmpty();
+        assertThat(report.violations(slo)).as("SLO violations\n" + report.format()).isEmpty();
+    }
+
+    /**
+     * Users share one password hash (hashing N passwords would dominate setup)
+     * @return their emails
+     */
+    private List<String> seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        String runId = Long.toString(System.nanoTime(), 36);
+        YearMonth now = YearMonth.now();
+        TransactionCategory[] categories = TransactionCategory.values();
+
+        List<String> emails = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            User user = new User();
+            user.setEmail("load-" + runId + "-" + u + "@test.com");
+            user.setPassword(hash);
+            Long userId = userRepository.save(user).getId();
+            emails.add(user.getEmail());
+
+            List<CreateTransactionRequest> rows = new ArrayList<>(TRANSACTIONS);
+            for (int i = 0; i < TRANSACTIONS; i++) {
+                YearMonth month = now.minusMonths(i % 12);
+                LocalDate date = month.atDay(1 + i % month.lengthOfMonth());
+                boolean income = i % 10 == 0;
+                rows.add(new CreateTransactionRequest(
+                        BigDecimal.valueOf(income ? 250_000 : 500 + (i * 37L) % 20_000, 2),
+                        income ? TransactionType.INCOME : TransactionType.EXPENSE,
+                        income ? TransactionCategory.SALARY : categories[i % categories.length],
+                        "seed " + i, date));
+                if (rows.size() == BulkCreateTransactionRequest.MAX_BATCH_SIZE) {
+                    transactionService.createTransactions(new BulkCreateTransactionRequest(rows), userId);
+                    rows = new ArrayList<>(TRANSACTIONS);
+                }
+            }
+            if (!rows.isEmpty()) {
+                transactionService.createTransactions(new BulkCreateTransactionRequest(rows), userId);
+            }
+
+            for (int m = 0; m < 3; m++) {
+                BudgetRequest budget = new BudgetRequest();
+                budget.setMonth(now.minusMonths(m).getMonthValue());
+                budget.setYear(now.minusMonths(m).getYear());
+                budget.setBudgetType(BudgetType.GENERAL);
+                budget.setAmount(new BigDecimal("3000.00"));
+                budgetService.setBudget(budget, userId);
+            }
+        }
+        return emails;
+    }
+}
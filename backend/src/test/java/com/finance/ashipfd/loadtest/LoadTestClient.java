@@ -0,0 +1,157 @@
+package com.finance.ashipfd.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * LoadTestClient
+ * One simulated user clicking through the app, against the real controllers
+ *
+ * SESSION:
+ * 1. login
+ * 2. dashboard for the current month (transactions page, summary, budget
+ *    status, category budgets - what the frontend loads on open)
+ * 3. a few rounds of:
+ *    - month navigation: step back 1-3 months, load that month's summary,
+ *      budget status + transactions filtered to the month
+ *    - sometimes CRUD: create a transaction, read it, edit it, delete it
+ *    - sometimes set that month's budget
+ *    - back to the dashboard
+ *
+ * Every call goes into the LoadTestReport under a short endpoint key
+ */
+class LoadTestClient {
+
+    private static final int ROUNDS_PER_SESSION = 3;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LoadTestReport report;
+    private final long thinkMillis;
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    LoadTestClient(HttpClient http, String baseUrl, LoadTestReport report, long thinkMillis) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.report = report;
+        this.thinkMillis = thinkMillis;
+    }
+
+    private record Response(int status, String body) {
+    }
+
+    /**
+     * Log in and click around until the deadline (or the session ends)
+     */
+    void runSession(String email, String password, long deadlineNanos) throws InterruptedException {
+        Response login = call("login", "POST /api/auth/login", "POST", "/api/auth/login", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        if (login.status() != 200) {
+            // shed/failed logins are already in the report, back off like a real client would
+            Thread.sleep(100);
+            return;
+        }
+        String token = json(login).path("token").asString();
+
+        YearMonth now = YearMonth.now();
+        dashboard(token, now);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int round = 0; round < ROUNDS_PER_SESSION && System.nanoTime() < deadlineNanos; round++) {
+            YearMonth month = now.minusMonths(1 + random.nextInt(3));
+            navigate(token, month);
+
+            if (random.nextInt(100) < 40) {
+                crud(token, month);
+            }
+            if (random.nextInt(100) < 15) {
+                call("budgets.put", "PUT /api/budgets", "PUT", "/api/budgets", token,
+                        "{\"month\":" + month.getMonthValue() + ",\"year\":" + month.getYear()
+                                + ",\"budgetType\":\"GENERAL\",\"amount\":" + (1500 + random.nextInt(2000)) + "}");
+            }
+            dashboard(token, now);
+        }
+    }
+
+    private void dashboard(String token, YearMonth month) throws InterruptedException {
+        String period = "month=" + month.getMonthValue() + "&year=" + month.getYear();
+        call("transactions.page", "GET /api/transactions?limit=50", "GET", "/api/transactions?limit=50", token, null);
+        call("transactions.summary", "GET /api/transactions/summary", "GET", "/api/transactions/summary?" + period, token, null);
+        call("budgets.status", "GET /api/budgets/status", "GET", "/api/budgets/status?" + period, token, null);
+        call("categoryBudgets.get", "GET /api/budgets/categories", "GET", "/api/budgets/categories?" + period, token, null);
+        think();
+    }
+
+    private void navigate(String token, YearMonth month) throws InterruptedException {
+        String period = "month=" + month.getMonthValue() + "&year=" + month.getYear();
+        call("transactions.summary", "GET /api/transactions/summary", "GET", "/api/transactions/summary?" + period, token, null);
+        call("budgets.status", "GET /api/budgets/status", "GET", "/api/budgets/status?" + period, token, null);
+        call("transactions.month", "GET /api/transactions?startDate&endDate", "GET",
+                "/api/transactions?limit=50&startDate=" + month.atDay(1) + "&endDate=" + month.atEndOfMonth(), token, null);
+        think();
+    }
+
+    private void crud(String token, YearMonth month) throws InterruptedException {
+        String date = month.atDay(1 + ThreadLocalRandom.current().nextInt(month.lengthOfMonth())).toString();
+        Response created = call("transactions.create", "POST /api/transactions", "POST", "/api/transactions", token,
+                "{\"amount\":12.34,\"type\":\"EXPENSE\",\"category\":\"DINING_OUT\",\"description\":\"load test\","
+                        + "\"transactionDate\":\"" + date + "\"}");
+        if (created.status() != 201 && created.status() != 200) {
+            return;
+        }
+        long id = json(created).path("id").asLong();
+        String path = "/api/transactions/" + id;
+
+        call("transactions.get", "GET /api/transactions/{id}", "GET", path, token, null);
+        call("transactions.update", "PUT /api/transactions/{id}", "PUT", path, token,
+                "{\"amount\":23.45,\"description\":\"load test (edited)\"}");
+        call("transactions.delete", "DELETE /api/transactions/{id}", "DELETE", path, token, null);
+        think();
+    }
+
+    private Response call(String key, String route, String method, String path, String token, String body) {
+        HttpRequest.Builder req = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+        if (body != null) {
+            req.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            req.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> res = http.send(req.build(), HttpResponse.BodyHandlers.ofString());
+            report.record(key, route, System.nanoTime() - start, res.statusCode());
+            return new Response(res.statusCode(), res.body());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            report.record(key, route, System.nanoTime() - start, -1);
+            return new Response(-1, "");
+        }
+    }
+
+    private JsonNode json(Response res) {
+        return objectMapper.readTree(res.body());
+    }
+
+    private void think() throws InterruptedException {
+        if (thinkMillis > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(thinkMillis / 2, thinkMillis * 3 / 2 + 1));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.finance.ashipfd.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LoadTestReport
+ * Per-endpoint latency + status counts for one load-test run
+ *
+ * Only records between start() and stop(), so warmup traffic doesn't count
+ * Latencies are kept raw (one long per request) - fine for the minutes-long
+ * runs this is for, and gives exact percentiles
+ */
+class LoadTestReport {
+
+    /**
+     * One endpoint's numbers
+     */
+    static final class Endpoint {
+        private final String route;
+        private long[] latencies = new long[1024];
+        private int count;
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong shed = new AtomicLong();
+
+        Endpoint(String route) {
+            this.route = route;
+        }
+
+        synchronized void add(long nanos) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, count);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    /**
+     * Numbers for one endpoint, latencies in ms
+     */
+    record Row(String key, String route, long requests, long errors, long shed, double throughput,
+               double p50, double p90, double p99, double max) {
+        double errorRate() {
+            return requests == 0 ? 0 : (double) (errors + shed) / requests;
+        }
+    }
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentSkipListMap<>();
+    private volatile boolean recording;
+    private volatile long startNanos;
+    private volatile long stopNanos;
+
+    void start() {
+        startNanos = System.nanoTime();
+        recording = true;
+    }
+
+    void stop() {
+        recording = false;
+        stopNanos = System.nanoTime();
+    }
+
+    /**
+     * @param key short endpoint name (used for per-endpoint SLOs)
+     * @param route what it is, e.g. "GET /api/budgets/status"
+     * @param status HTTP status, or -1 if the request didn't complete at all
+     */
+    void record(String key, String route, long nanos, int status) {
+        if (!recording) {
+            return;
+        }
+        Endpoint endpoint = endpoints.computeIfAbsent(key, k -> new Endpoint(route));
+        endpoint.add(nanos);
+        if (status == 503 || status == 429) {
+            endpoint.shed.incrementAndGet();
+        } else if (status < 200 || status >= 300) {
+            endpoint.errors.incrementAndGet();
+        }
+    }
+
+    List<Row> rows() {
+        double seconds = (stopNanos - startNanos) / 1e9;
+        List<Row> rows = new ArrayList<>();
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint e = entry.getValue();
+            long[] sorted = e.sorted();
+            rows.add(new Row(entry.getKey(), e.route, sorted.length, e.errors.get(), e.shed.get(),
+                    sorted.length / seconds, millis(sorted, 50), millis(sorted, 90), millis(sorted, 99),
+                    sorted.length == 0 ? 0 : toMillis(sorted[sorted.length - 1])));
+        }
+        return rows;
+    }
+
+    /**
+     * Every SLO an endpoint broke, empty = pass
+     */
+    List<String> violations(LoadTestSlo slo) {
+        List<String> violations = new ArrayList<>();
+        for (Row row : rows()) {
+            double maxP99 = slo.p99Millis(row.key());
+            if (row.p99() > maxP99) {
+                violations.add(String.format("%s p99 %.1fms > %.1fms", row.key(), row.p99(), maxP99));
+            }
+            double maxErrorRate = slo.errorRate(row.key());
+            if (row.errorRate() > maxErrorRate) {
+                violations.add(String.format("%s error rate %.2f%% > %.2f%%",
+                        row.key(), row.errorRate() * 100, maxErrorRate * 100));
+            }
+        }
+        return violations;
+    }
+
+    String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-22s %-40s %8s %6s %6s %8s %8s %8s %8s %8s%n",
+                "endpoint", "route", "requests", "errors", "shed", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        long total = 0;
+        double totalThroughput = 0;
+        for (Row r : rows()) {
+            out.append(String.format("%-22s %-40s %8d %6d %6d %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                    r.key(), r.route(), r.requests(), r.errors(), r.shed(), r.throughput(),
+                    r.p50(), r.p90(), r.p99(), r.max()));
+            total += r.requests();
+            totalThroughput += r.throughput();
+        }
+        out.append(String.format("%-22s %-40s %8d %6s %6s %8.1f%n", "TOTAL", "", total, "", "", totalThroughput));
+        return out.toString();
+    }
+
+    private static double millis(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
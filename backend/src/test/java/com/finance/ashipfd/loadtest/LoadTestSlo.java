@@ -0,0 +1,28 @@
+package com.finance.ashipfd.loadtest;
+
+/**
+ * SLO thresholds for LoadTest, from system properties
+ *
+ *   -Dloadtest.slo.p99-ms=2000                  every endpoint
+ *   -Dloadtest.slo.p99-ms.budgets.status=300    one endpoint (key from the report)
+ *   -Dloadtest.slo.error-rate=0.01              errors + 429/503 as a fraction of requests
+ *   -Dloadtest.slo.error-rate.login=0.05
+ */
+record LoadTestSlo(double defaultP99Millis, double defaultErrorRate) {
+
+    static LoadTestSlo fromSystemProperties() {
+        return new LoadTestSlo(
+                Double.parseDouble(System.getProperty("loadtest.slo.p99-ms", "2000")),
+                Double.parseDouble(System.getProperty("loadtest.slo.error-rate", "0.01")));
+    }
+
+    double p99Millis(String endpoint) {
+        return Double.parseDouble(System.getProperty("loadtest.slo.p99-ms." + endpoint,
+                String.valueOf(defaultP99Millis)));
+    }
+
+    double errorRate(String endpoint) {
+        return Double.parseDouble(System.getProperty("loadtest.slo.error-rate." + endpoint,
+                String.valueOf(defaultErrorRate)));
+    }
+}
@@ -0,0 +1,39 @@
+package com.finance.ashipfd.security;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+
+    @Test
+    void parseReturnsVerifiedClaims() {
+        String token = jwtUtil.generateToken("me@test.com", 42L);
+
+        VerifiedToken verified = jwtUtil.parse(token);
+
+        assertThat(verified.email()).isEqualTo("me@test.com");
+        assertThat(verified.userId()).isEqualTo(42L);
+        assertThat(verified.expiresAt()).isInTheFuture();
+        assertThat(jwtUtil.validateToken(token)).isTrue();
+    }
+
+    @Test
+    void parseRejectsTamperedExpiredAndForeignTokens() {
+        String token = jwtUtil.generateToken("me@test.com", 42L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        String expired = new JwtUtil(SECRET, -1_000).generateToken("me@test.com", 42L);
+        String foreign = new JwtUtil(SECRET + "-other", 60_000).generateToken("me@test.com", 42L);
+
+        assertThatThrownBy(() -> jwtUtil.parse(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.parse(expired)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.parse(foreign)).isInstanceOf(JwtException.class);
+        assertThat(jwtUtil.validateToken(tampered)).isFalse();
+    }
+}
@@ -0,0 +1,62 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.exception.AuthCapacityExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+    @Test
+    void rejectsRightAwayWhenPoolAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                return bcrypt.encode(raw);
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return bcrypt.matches(raw, encoded);
+            }
+        };
+        PasswordHasher hasher = new PasswordHasher(slow, 1, 1);
+        String hash = bcrypt.encode("pw");
+
+        CompletableFuture<Boolean> running = hasher.matches("pw", hash);
+        CompletableFuture<Boolean> queued = hasher.matches("pw", hash);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> hasher.matches("pw", hash)).isInstanceOf(AuthCapacityExceededException.class);
+        assertThat(System.nanoTime() - start).isLessThan(50_000_000L);
+        assertThat(hasher.getRejectedCount()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get()).isTrue();
+        assertThat(queued.get()).isTrue();
+        hasher.shutdown();
+    }
+
+    @Test
+    void onlyLowerCostHashesNeedRehash() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(6), 1, 1);
+
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("pw"))).isFalse();
+        assertThat(hasher.needsRehash(new BCryptPasswordEncoder(7).encode("pw"))).isFalse();
+        hasher.shutdown();
+    }
+}
@@ -0,0 +1,88 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.config.RateLimitProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimiter(properties()), JsonMapper.builder().build());
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties.Route auth = new RateLimitProperties.Route();
+        auth.setName("auth");
+        auth.setPattern("/api/auth/**");
+        auth.setKey(RateLimitProperties.KeyType.IP);
+        auth.setLimit(1);
+        auth.setPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties.Route api = new RateLimitProperties.Route();
+        api.setName("api");
+        api.setPattern("/api/**");
+        api.setLimit(1);
+        api.setPeriod(Duration.ofMinutes(1));
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(auth, api));
+        return properties;
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void overLimitGets429WithRetryAfter() throws Exception {
+        MockHttpServletResponse first = send("/api/auth/login", "10.0.0.1", null);
+        MockHttpServletResponse second = send("/api/auth/login", "10.0.0.1", null);
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getHeader("RateLimit-Remaining")).isEqualTo("0");
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(second.getContentAsString()).contains("\"status\":429", "Too Many Requests");
+    }
+
+    @Test
+    void authRoutesKeyOnIp() throws Exception {
+        send("/api/auth/login", "10.0.0.1", 1L);
+
+        assertThat(send("/api/auth/login", "10.0.0.1", 2L).getStatus()).isEqualTo(429);
+        assertThat(send("/api/auth/login", "10.0.0.2", 1L).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void apiRoutesKeyOnUserId() throws Exception {
+        send("/api/budgets", "10.0.0.1", 1L);
+
+        // same user from another IP -> same bucket
+        assertThat(send("/api/budgets", "10.0.0.2", 1L).getStatus()).isEqualTo(429);
+        // another user behind the same NAT -> own bucket
+        assertThat(send("/api/budgets", "10.0.0.1", 2L).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse send(String path, String ip, Long userId) throws Exception {
+        SecurityContextHolder.clearContext();
+        if (userId != null) {
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+        }
+        MockHttpServletRequest req = new MockHttpServletRequest("GET", path);
+        req.setRemoteAddr(ip);
+        MockHttpServletResponse res = new MockHttpServletResponse();
+        filter.doFilter(req, res, new MockFilterChain());
+        return res;
+    }
+}
@@ -0,0 +1,131 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private static RateLimitProperties properties(int limit, Duration period) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("api");
+        route.setPattern("/api/**");
+        route.setLimit(limit);
+        route.setPeriod(period);
+
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setIdleTimeout(Duration.ofMinutes(2));
+        properties.setRoutes(List.of(route));
+        return properties;
+    }
+
+    @Test
+    void allowsBurstUpToLimitThenRejectsWithRetryAfter() {
+        RateLimiter limiter = new RateLimiter(properties(5, Duration.ofMinutes(1)), now::get);
+        RateLimiter.Route route = limiter.resolve("/api/budgets");
+
+        for (int i = 0; i < 5; i++) {
+            RateLimiter.Decision decision = limiter.tryAcquire(route, "u:1");
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(4 - i);
+        }
+
+        RateLimiter.Decision rejected = limiter.tryAcquire(route, "u:1");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        // one token every 12s
+        assertThat(rejected.retryAfterNanos()).isEqualTo(TimeUnit.SECONDS.toNanos(12));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = new RateLimiter(properties(5, Duration.ofMinutes(1)), now::get);
+        RateLimiter.Route route = limiter.resolve("/api/budgets");
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire(route, "u:1");
+        }
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        assertThat(limiter.tryAcquire(route, "u:1").allowed()).isFalse();
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(limiter.tryAcquire(route, "u:1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire(route, "u:1").allowed()).isFalse();
+
+        // a full period idle -> full burst again, never more
+        now.addAndGet(TimeUnit.MINUTES.toNanos(5));
+        assertThat(limiter.tryAcquire(route, "u:1").remaining()).isEqualTo(4);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(properties(1, Duration.ofMinutes(1)), now::get);
+        RateLimiter.Route route = limiter.resolve("/api/budgets");
+
+        assertThat(limiter.tryAcquire(route, "u:1").allowed()).isTrue();
+        assertThat(limiter.tryAcquire(route, "u:1").allowed()).isFalse();
+        assertThat(limiter.tryAcquire(route, "u:2").allowed()).isTrue();
+    }
+
+    @Test
+    void unmatchedPathsAreNotLimited() {
+        RateLimiter limiter = new RateLimiter(properties(1, Duration.ofMinutes(1)), now::get);
+        assertThat(limiter.resolve("/health")).isNull();
+    }
+
+    @Test
+    void idleBucketsAreEvicted() {
+        RateLimiter limiter = new RateLimiter(properties(5, Duration.ofMinutes(1)), now::get);
+        RateLimiter.Route route = limiter.resolve("/api/budgets");
+        for (int user = 0; user < 100; user++) {
+            limiter.tryAcquire(route, "u:" + user);
+        }
+        limiter.cleanUp();
+        assertThat(limiter.bucketCount()).isEqualTo(100);
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(3));
+        limiter.cleanUp();
+        assertThat(limiter.bucketCount()).isZero();
+    }
+
+    @Test
+    void idleTimeoutShorterThanPeriodIsRejected() {
+        assertThatThrownBy(() -> new RateLimiter(properties(5, Duration.ofMinutes(10)), now::get))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("idle-timeout");
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedLimit() throws Exception {
+        RateLimiter limiter = new RateLimiter(properties(1_000, Duration.ofMinutes(1)), now::get);
+        RateLimiter.Route route = limiter.resolve("/api/budgets");
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (limiter.tryAcquire(route, "u:1").allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(allowed.get()).isEqualTo(1_000);
+    }
+}
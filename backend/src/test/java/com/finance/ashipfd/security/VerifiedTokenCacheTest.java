@@ -0,0 +1,95 @@
+package com.finance.ashipfd.security;
+
+import com.finance.ashipfd.exception.RevocationCapacityExceededException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET, 60_000);
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, Duration.ofMinutes(5), 100);
+
+    @Test
+    void repeatTokensAreServedFromCache() {
+        String token = jwtUtil.generateToken("me@test.com", 7L);
+
+        VerifiedToken first = cache.verify(token);
+        VerifiedToken second = cache.verify(token);
+        cache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.userId()).isEqualTo(7L);
+        VerifiedTokenCache.Stats stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.hitRate()).isCloseTo(2.0 / 3, within(0.001));
+    }
+
+    @Test
+    void invalidTokensAreNeverCached() {
+        String token = jwtUtil.generateToken("me@test.com", 7L);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> cache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThat(cache.stats().hits()).isZero();
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void entryDoesNotOutliveTokenExp() throws Exception {
+        // exp has 1 second precision -> expires somewhere in the next ~1-2s
+        String token = new JwtUtil(SECRET, 1_000).generateToken("me@test.com", 7L);
+        VerifiedToken verified = cache.verify(token);
+        assertThat(cache.verify(token)).isSameAs(verified);
+
+        Thread.sleep(Math.max(0, verified.expiresAt().getTime() - System.currentTimeMillis()) + 50);
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenIfCached() {
+        String token = jwtUtil.generateToken("me@test.com", 7L);
+        String other = jwtUtil.generateToken("me@test.com", 8L);
+        cache.verify(token);
+        cache.verify(other);
+
+        cache.revoke(token);
+
+        assertThatThrownBy(() -> cache.verify(token)).isInstanceOf(JwtException.class).hasMessageContaining("revoked");
+        assertThat(cache.verify(other).userId()).isEqualTo(8L);
+        assertThat(cache.stats().revokedRejections()).isEqualTo(1);
+
+        // Revoking garbage is a no-op
+        cache.revoke("not-a-jwt");
+    }
+
+    @Test
+    void fullDenylistRefusesNewRevocationsInsteadOfEvicting() {
+        VerifiedTokenCache small = new VerifiedTokenCache(jwtUtil, 100, Duration.ofMinutes(5), 2);
+        String first = jwtUtil.generateToken("a@test.com", 1L);
+        String second = jwtUtil.generateToken("b@test.com", 2L);
+        String third = jwtUtil.generateToken("c@test.com", 3L);
+        small.revoke(first);
+        small.revoke(second);
+
+        assertThatThrownBy(() -> small.revoke(third)).isInstanceOf(RevocationCapacityExceededException.class);
+
+        // Nothing already revoked came back to life, the refused one still works
+        assertThatThrownBy(() -> small.verify(first)).isInstanceOf(JwtException.class).hasMessageContaining("revoked");
+        assertThatThrownBy(() -> small.verify(second)).isInstanceOf(JwtException.class).hasMessageContaining("revoked");
+        assertThat(small.verify(third).userId()).isEqualTo(3L);
+        // Revoking an already revoked token isn't a new entry
+        small.revoke(first);
+    }
+}
@@ -0,0 +1,164 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.CategoryBudgetAmount;
+import com.finance.ashipfd.dto.CategoryBudgetRequest;
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not @Transactional on purpose - eviction happens after real commits
+ */
+@SpringBootTest
+class BudgetCacheTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryBudgetService categoryBudgetService;
+
+    @Autowired
+    private BudgetCache budgetCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("cache-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void writesEvictOnlyTheMonthTheyTouch() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        budgetService.setBudget(new BudgetRequest(2, 2026, BudgetType.GENERAL, new BigDecimal("900.00")), userId);
+        BudgetCache.Stats before = budgetCache.budgetStats();
+
+        budgetService.getBudget(userId, 1, 2026);
+        budgetService.getBudget(userId, 1, 2026);
+        budgetService.getBudget(userId, 2, 2026);
+        BudgetCache.Stats warm = budgetCache.budgetStats();
+        assertThat(warm.misses() - before.misses()).isEqualTo(2);
+        assertThat(warm.hits() - before.hits()).isEqualTo(1);
+
+        // January category change -> January budget (CATEGORY_SUM) must be recomputed, February untouched
+        categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(1, 2026, new BigDecimal("250.00"), TransactionCategory.GROCERIES), userId);
+
+        assertThat(budgetService.getBudget(userId, 1, 2026).getEffectiveAmount()).isEqualByComparingTo("250.00");
+        assertThat(budgetService.getBudget(userId, 2, 2026).getAmount()).isEqualByComparingTo("900.00");
+        BudgetCache.Stats after = budgetCache.budgetStats();
+        assertThat(after.misses() - warm.misses()).isEqualTo(1);
+        assertThat(after.hits() - warm.hits()).isEqualTo(1);
+        assertThat(after.invalidations()).isGreaterThan(warm.invalidations());
+
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 1, 2026)).hasSize(1);
+        categoryBudgetService.deleteCategoryBudget(userId, 1, 2026, TransactionCategory.GROCERIES);
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 1, 2026)).isEmpty();
+
+        budgetService.deleteBudget(userId, 2, 2026);
+        assertThat(budgetService.getBudget(userId, 2, 2026)).isNull();
+    }
+
+    @Test
+    void bulkCategoryWriteEvictsTheMonth() {
+        budgetService.setBudget(new BudgetRequest(8, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(8, 2026, new BigDecimal("400.00"), TransactionCategory.GROCERIES), userId);
+        categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(8, 2026, new BigDecimal("100.00"), TransactionCategory.GAS), userId);
+        // Warm both caches so the bulk write has something to evict
+        assertThat(budgetService.getBudget(userId, 8, 2026).getEffectiveAmount()).isEqualByComparingTo("500.00");
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 8, 2026)).hasSize(2);
+
+        categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(8, 2026, true, List.of(
+                new CategoryBudgetAmount(TransactionCategory.GROCERIES, new BigDecimal("450.00")),
+                new CategoryBudgetAmount(TransactionCategory.DINING_OUT, new BigDecimal("150.00")))), userId);
+
+        assertThat(budgetService.getBudget(userId, 8, 2026).getEffectiveAmount()).isEqualByComparingTo("600.00");
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 8, 2026))
+                .extracting(CategoryBudgetResponse::getCategory)
+                .containsExactlyInAnyOrder(TransactionCategory.GROCERIES, TransactionCategory.DINING_OUT);
+    }
+
+    @Test
+    void noStaleReadSurvivesAWrite() throws Exception {
+        budgetService.setBudget(new BudgetRequest(6, 2026, BudgetType.GENERAL, new BigDecimal("1")), userId);
+
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicInteger reads = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(readers.submit(() -> {
+                while (!done.get()) {
+                    budgetService.getBudget(userId, 6, 2026);
+                    reads.incrementAndGet();
+                }
+            }));
+        }
+
+        try {
+            for (int amount = 2; amount <= 200; amount++) {
+                budgetService.setBudget(
+                        new BudgetRequest(6, 2026, BudgetType.GENERAL, new BigDecimal(amount)), userId);
+
+                // Readers are hammering the same key - whatever they cached before
+                // the write must be gone once setBudget returns
+                BudgetResponse seen = budgetService.getBudget(userId, 6, 2026);
+                assertThat(seen.getAmount()).as("read after write #%d", amount).isEqualByComparingTo(new BigDecimal(amount));
+            }
+        } finally {
+            done.set(true);
+            for (Future<?> f : futures) {
+                f.get();
+            }
+            readers.shutdown();
+        }
+        assertThat(reads.get()).isGreaterThan(200);
+    }
+
+    @Test
+    void sizeAndTtlBoundsEvict() throws Exception {
+        BudgetCache bySize = new BudgetCache(2, Duration.ofMinutes(10), Runnable::run);
+        for (int month = 1; month <= 5; month++) {
+            bySize.getBudget(1L, month, 2026, () -> null);
+        }
+        bySize.cleanUp();
+        assertThat(bySize.budgetStats().evictions()).isEqualTo(3);
+
+        BudgetCache byTtl = new BudgetCache(100, Duration.ofMillis(50), Runnable::run);
+        byTtl.getBudget(1L, 1, 2026, () -> null);
+        Thread.sleep(120);
+        byTtl.getBudget(1L, 1, 2026, () -> null);
+        assertThat(byTtl.budgetStats().misses()).isEqualTo(2);
+        assertThat(byTtl.budgetStats().hits()).isZero();
+    }
+}
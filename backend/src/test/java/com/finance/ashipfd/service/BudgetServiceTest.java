@@ -0,0 +1,244 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BudgetCopyRangeRequest;
+import com.finance.ashipfd.dto.BudgetCopyRequest;
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.BudgetStatusResponse;
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.BulkCategoryBudgetResponse;
+import com.finance.ashipfd.dto.CategoryBudgetAmount;
+import com.finance.ashipfd.dto.CategoryBudgetRequest;
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.dto.CategoryBudgetStatus;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.exception.GlobalExceptionHandler;
+import com.finance.ashipfd.exception.InvalidRequestException;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.CategoryBudgetRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class BudgetServiceTest {
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryBudgetService categoryBudgetService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CategoryBudgetRepository categoryBudgetRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("budget-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void statusMergesBudgetCategoryBudgetsAndSpending() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("1000.00")), userId);
+        categoryBudget(1, TransactionCategory.GROCERIES, "400.00");
+        categoryBudget(1, TransactionCategory.DINING_OUT, "200.00");
+
+        spend("300.00", TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 3));
+        spend("167.50", TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 20));
+        spend("80.00", TransactionCategory.GAS, LocalDate.of(2026, 1, 5));
+        // Income + other months don't count as spending
+        transactionService.createTransaction(new CreateTransactionRequest(new BigDecimal("6000.00"),
+                TransactionType.INCOME, TransactionCategory.SALARY, null, LocalDate.of(2026, 1, 15)), userId);
+        spend("999.00", TransactionCategory.GROCERIES, LocalDate.of(2026, 2, 1));
+
+        BudgetStatusResponse status = budgetService.getBudgetStatus(userId, 1, 2026);
+
+        assertThat(status.getBudgeted()).isEqualByComparingTo("1000.00");
+        assertThat(status.getSpent()).isEqualByComparingTo("547.50");
+        assertThat(status.getRemaining()).isEqualByComparingTo("452.50");
+        assertThat(status.getPercentUsed()).isEqualByComparingTo("54.75");
+        assertThat(status.getCategories()).extracting(CategoryBudgetStatus::getCategory)
+                .containsExactly(TransactionCategory.GROCERIES, TransactionCategory.GAS, TransactionCategory.DINING_OUT);
+
+        CategoryBudgetStatus groceries = status.getCategories().get(0);
+        assertThat(groceries.getCategoryBudget().getAmount()).isEqualByComparingTo("400.00");
+        assertThat(groceries.getSpent()).isEqualByComparingTo("467.50");
+        assertThat(groceries.getRemaining()).isEqualByComparingTo("-67.50");
+        assertThat(groceries.getPercentUsed()).isEqualByComparingTo("116.88");
+
+        CategoryBudgetStatus gas = status.getCategories().get(1);
+        assertThat(gas.getCategoryBudget()).isNull();
+        assertThat(gas.getRemaining()).isNull();
+        assertThat(gas.getPercentUsed()).isNull();
+
+        CategoryBudgetStatus diningOut = status.getCategories().get(2);
+        assertThat(diningOut.getSpent()).isEqualByComparingTo("0");
+        assertThat(diningOut.getPercentUsed()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void categorySumBudgetUsesSumOfCategoryBudgets() {
+        budgetService.setBudget(new BudgetRequest(3, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        categoryBudget(3, TransactionCategory.GROCERIES, "400.00");
+        categoryBudget(3, TransactionCategory.DINING_OUT, "200.00");
+        spend("150.00", TransactionCategory.GROCERIES, LocalDate.of(2026, 3, 9));
+
+        BudgetStatusResponse status = budgetService.getBudgetStatus(userId, 3, 2026);
+
+        assertThat(status.getBudget().getEffectiveAmount()).isEqualByComparingTo("600.00");
+        assertThat(status.getBudgeted()).isEqualByComparingTo("600.00");
+        assertThat(status.getRemaining()).isEqualByComparingTo("450.00");
+        assertThat(status.getPercentUsed()).isEqualByComparingTo("25.00");
+        assertThat(budgetService.getBudget(userId, 3, 2026).getEffectiveAmount()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    void setBudgetUpsertsOneRowPerMonth() {
+        BudgetResponse created = budgetService.setBudget(
+                new BudgetRequest(5, 2026, BudgetType.GENERAL, new BigDecimal("800.00")), userId);
+        BudgetResponse updated = budgetService.setBudget(
+                new BudgetRequest(5, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        categoryBudget(5, TransactionCategory.GAS, "120.00");
+        CategoryBudgetResponse gas = categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(5, 2026, new BigDecimal("150.00"), TransactionCategory.GAS), userId);
+
+        assertThat(created.getId()).isNotNull();
+        assertThat(updated.getId()).isEqualTo(created.getId());
+        assertThat(updated.getAmount()).isEqualByComparingTo("0");
+        assertThat(gas.getAmount()).isEqualByComparingTo("150.00");
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 5, 2026)).singleElement()
+                .satisfies(cb -> assertThat(cb.getId()).isEqualTo(gas.getId()));
+        assertThat(budgetService.getBudget(userId, 5, 2026).getEffectiveAmount()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void copyRangeCreatesEveryMonthWithItsCategories() {
+        budgetService.setBudget(new BudgetRequest(3, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        categoryBudget(3, TransactionCategory.GROCERIES, "400.00");
+        categoryBudget(3, TransactionCategory.DINING_OUT, "200.00");
+        // Already set for June -> kept, only DINING_OUT gets copied in
+        categoryBudget(6, TransactionCategory.GROCERIES, "500.00");
+
+        List<BudgetResponse> created = budgetService.copyBudgetRange(
+                new BudgetCopyRangeRequest(3, 2026, 4, 2026, 12, 2026, true, true), userId);
+
+        assertThat(created).extracting(BudgetResponse::getMonth).containsExactly(4, 5, 6, 7, 8, 9, 10, 11, 12);
+        assertThat(created).extracting(BudgetResponse::getBudgetType).containsOnly(BudgetType.CATEGORY_SUM);
+        assertThat(created.get(0).getEffectiveAmount()).isEqualByComparingTo("600.00");
+        assertThat(created.get(2).getEffectiveAmount()).isEqualByComparingTo("700.00");
+        assertThat(categoryBudgetService.getCategoryBudgets(userId, 12, 2026))
+                .extracting(CategoryBudgetResponse::getCategory)
+                .containsExactlyInAnyOrder(TransactionCategory.GROCERIES, TransactionCategory.DINING_OUT);
+        assertThat(budgetService.getBudget(userId, 9, 2026).getEffectiveAmount()).isEqualByComparingTo("600.00");
+    }
+
+    @Test
+    void copyAcrossYearEndAndIntoBudgetedMonthFails() {
+        budgetService.setBudget(new BudgetRequest(11, 2026, BudgetType.GENERAL, new BigDecimal("900.00")), userId);
+
+        List<BudgetResponse> created = budgetService.copyBudgetRange(
+                new BudgetCopyRangeRequest(11, 2026, 12, 2026, 2, 2027, true, false), userId);
+
+        assertThat(created).extracting(BudgetResponse::getYear).containsExactly(2026, 2027, 2027);
+        assertThat(created).extracting(BudgetResponse::getAmount).allSatisfy(a -> assertThat(a).isEqualByComparingTo("900.00"));
+
+        assertThatThrownBy(() -> budgetService.copyBudget(new BudgetCopyRequest(11, 2026, 1, 2027, true, true), userId))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> budgetService.copyBudgetRange(
+                new BudgetCopyRangeRequest(11, 2026, 10, 2026, 12, 2026, true, true), userId))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void bulkCategoryBudgetsReplaceOrMergeTheMonth() {
+        budgetService.setBudget(new BudgetRequest(8, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        categoryBudget(8, TransactionCategory.GROCERIES, "400.00");
+        categoryBudget(8, TransactionCategory.GAS, "100.00");
+
+        BulkCategoryBudgetResponse replaced = categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(
+                8, 2026, true, List.of(
+                        new CategoryBudgetAmount(TransactionCategory.GROCERIES, new BigDecimal("450.00")),
+                        new CategoryBudgetAmount(TransactionCategory.DINING_OUT, new BigDecimal("150.00")))), userId);
+
+        assertThat(replaced.getCategoryBudgets())
+                .extracting(CategoryBudgetResponse::getCategory)
+                .containsExactlyInAnyOrder(TransactionCategory.GROCERIES, TransactionCategory.DINING_OUT);
+        assertThat(replaced.getEffectiveAmount()).isEqualByComparingTo("600.00");
+        // Straight from the db - this test's transaction never ends, so cache eviction
+        // (after completion) is covered in BudgetCacheTest instead
+        assertThat(categoryBudgetRepository.findResponsesByUserIdAndMonthAndYear(userId, 8, 2026))
+                .extracting(CategoryBudgetResponse::getCategory, CategoryBudgetResponse::getAmount)
+                .containsExactlyInAnyOrder(
+                        tuple(TransactionCategory.GROCERIES, new BigDecimal("450.00")),
+                        tuple(TransactionCategory.DINING_OUT, new BigDecimal("150.00")));
+
+        BulkCategoryBudgetResponse merged = categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(
+                8, 2026, false, List.of(
+                        new CategoryBudgetAmount(TransactionCategory.GAS, new BigDecimal("80.00")))), userId);
+
+        assertThat(merged.getCategoryBudgets()).hasSize(3);
+        assertThat(merged.getEffectiveAmount()).isEqualByComparingTo("680.00");
+        assertThat(categoryBudgetRepository.findResponsesByUserIdAndMonthAndYear(userId, 8, 2026)).hasSize(3);
+
+        BulkCategoryBudgetResponse cleared = categoryBudgetService.setCategoryBudgets(
+                new BulkCategoryBudgetRequest(8, 2026, true, List.of()), userId);
+        assertThat(cleared.getCategoryBudgets()).isEmpty();
+        assertThat(cleared.getEffectiveAmount()).isEqualByComparingTo("0");
+
+        assertThatThrownBy(() -> categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(
+                8, 2026, true, List.of(
+                        new CategoryBudgetAmount(TransactionCategory.GAS, new BigDecimal("1.00")),
+                        new CategoryBudgetAmount(TransactionCategory.GAS, new BigDecimal("2.00")))), userId))
+                .isInstanceOf(InvalidRequestException.class)
+                .satisfies(e -> assertThat(new GlobalExceptionHandler()
+                        .handleInvalidRequestException((InvalidRequestException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    void statusWithNothingSetIsEmpty() {
+        BudgetStatusResponse status = budgetService.getBudgetStatus(userId, 7, 2026);
+
+        assertThat(status.getBudget()).isNull();
+        assertThat(status.getBudgeted()).isNull();
+        assertThat(status.getSpent()).isEqualByComparingTo("0");
+        assertThat(status.getPercentUsed()).isNull();
+        assertThat(status.getCategories()).isEmpty();
+    }
+
+    private void categoryBudget(int month, TransactionCategory category, String amount) {
+        categoryBudgetService.setCategoryBudget(new CategoryBudgetRequest(month, 2026, new BigDecimal(amount), category), userId);
+    }
+
+    private void spend(String amount, TransactionCategory category, LocalDate date) {
+        transactionService.createTransaction(new CreateTransactionRequest(
+                new BigDecimal(amount), TransactionType.EXPENSE, category, null, date), userId);
+    }
+}
@@ -0,0 +1,205 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.ImportJobResponse;
+import com.finance.ashipfd.exception.ImportJobNotFoundException;
+import com.finance.ashipfd.model.ImportJobStatus;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "import.chunk-size=2")
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @MockitoSpyBean
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("import-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void importsValidRowsAndReportsBadOnes() throws Exception {
+        Path csv = write("""
+                date,amount,category,description
+                2025-12-01,-45.50,GROCERIES,"Trader Joe's, downtown"
+                12/02/2025,6000.00,Salary,Paycheck
+                2025-12-03,abc,GROCERIES,bad amount
+                2025-12-04,-12.00,NOT_A_CATEGORY,bad category
+
+                2025-12-05,-3.25,DINING_OUT,Coffee
+                """);
+
+        ImportJobResponse job = awaitFinished(importService.submit(userId, "dec.csv", csv).getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(5);
+        assertThat(job.getRowsImported()).isEqualTo(3);
+        assertThat(job.getRowsFailed()).isEqualTo(2);
+        assertThat(job.getChunksCommitted()).isEqualTo(2);
+        assertThat(job.getErrors()).hasSize(2).allMatch(e -> e.startsWith("Row "));
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId))
+                .extracting(t -> t.getDescription())
+                .containsExactlyInAnyOrder("Trader Joe's, downtown", "Paycheck", "Coffee");
+        assertThat(Files.exists(csv)).isFalse();
+    }
+
+    @Test
+    void missingHeaderColumnsFailsTheJob() throws Exception {
+        Path csv = write("foo,bar\n1,2\n");
+
+        ImportJobResponse job = awaitFinished(importService.submit(userId, "junk.csv", csv).getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getRowsImported()).isZero();
+    }
+
+    @Test
+    void failedChunkRollsBackAloneEarlierChunksStay() throws Exception {
+        // Passes validation, too long for the description column -> the db rejects that chunk
+        String tooLong = "x".repeat(501);
+        Path csv = write("""
+                date,amount,category,description
+                2025-12-01,-1.00,GROCERIES,first
+                2025-12-02,-2.00,GROCERIES,second
+                2025-12-03,-3.00,GROCERIES,same chunk as the bad row
+                2025-12-04,-4.00,GROCERIES,%s
+                2025-12-05,-5.00,GROCERIES,after
+                """.formatted(tooLong));
+
+        ImportJobResponse job = awaitFinished(importService.submit(userId, "dec.csv", csv).getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.COMPLETED);
+        assertThat(job.getRowsImported()).isEqualTo(3);
+        assertThat(job.getRowsFailed()).isEqualTo(2);
+        assertThat(job.getChunksCommitted()).isEqualTo(2);
+        assertThat(job.getErrors()).singleElement().satisfies(e -> assertThat(e).startsWith("Rows "));
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId))
+                .extracting(t -> t.getDescription())
+                .containsExactlyInAnyOrder("first", "second", "after");
+    }
+
+    @Test
+    void cancelStopsAfterTheChunkInFlight() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            writing.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return inv.callRealMethod();
+        }).when(transactionService).createTransactions(any(), any());
+
+        StringBuilder rows = new StringBuilder("amount,category\n");
+        for (int i = 1; i <= 20; i++) {
+            rows.append(i).append(",SALARY\n");
+        }
+        String jobId = importService.submit(userId, "big.csv", write(rows.toString())).getId();
+
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+        importService.cancelJob(jobId, userId);
+        release.countDown();
+        ImportJobResponse job = awaitFinished(jobId);
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.CANCELLED);
+        assertThat(job.getChunksCommitted()).isEqualTo(1);
+        assertThat(job.getRowsImported()).isEqualTo(2);
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).hasSize(2);
+    }
+
+    @Test
+    void writerCrashFailsTheJobAndStopsTheParser() throws Exception {
+        // An Error isn't caught per chunk - the writer stage dies with the parser blocked on a full queue
+        doAnswer(inv -> {
+            throw new AssertionError("simulated writer crash");
+        }).when(transactionService).createTransactions(any(), any());
+
+        StringBuilder rows = new StringBuilder("amount,category\n");
+        for (int i = 1; i <= 40; i++) {
+            rows.append(i).append(",SALARY\n");
+        }
+        Path csv = write(rows.toString());
+        ImportJobResponse job = awaitFinished(importService.submit(userId, "big.csv", csv).getId());
+
+        assertThat(job.getStatus()).isEqualTo(ImportJobStatus.FAILED);
+        assertThat(job.getErrors()).anySatisfy(e -> assertThat(e).contains("simulated writer crash"));
+        assertThat(job.getRowsRead()).isLessThan(40);
+        // finished = parser exited and closed the reader, only then is the file deleted
+        assertThat(Files.exists(csv)).isFalse();
+        assertThat(isOpen(csv)).isFalse();
+    }
+
+    @Test
+    void otherUsersCantSeeJob() throws Exception {
+        ImportJobResponse job = importService.submit(userId, "dec.csv", write("amount,category\n1,SALARY\n"));
+
+        assertThatThrownBy(() -> importService.getJob(job.getId(), userId + 1000))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = Files.createTempFile("import-test-", ".csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    /**
+     * Does this JVM still hold a descriptor on the file (Linux: /proc/self/fd -> "path (deleted)")
+     */
+    private static boolean isOpen(Path file) throws IOException {
+        Path fds = Path.of("/proc/self/fd");
+        Assumptions.assumeTrue(Files.isDirectory(fds), "needs /proc");
+        try (Stream<Path> open = Files.list(fds)) {
+            return open.anyMatch(fd -> {
+                try {
+                    return Files.readSymbolicLink(fd).toString().startsWith(file.toString());
+                } catch (IOException e) {
+                    return false;
+                }
+            });
+        }
+    }
+
+    private ImportJobResponse awaitFinished(String jobId) throws InterruptedException {
+        Instant deadline = Instant.now().plus(Duration.ofSeconds(20));
+        ImportJobResponse job = importService.getJob(jobId, userId);
+        while (!job.getStatus().isFinished() && Instant.now().isBefore(deadline)) {
+            Thread.sleep(50);
+            job = importService.getJob(jobId, userId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,377 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BudgetCopyRangeRequest;
+import com.finance.ashipfd.dto.BudgetCopyRequest;
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CategoryBudgetAmount;
+import com.finance.ashipfd.dto.CategoryBudgetRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.ExportFormat;
+import com.finance.ashipfd.dto.ImportJobResponse;
+import com.finance.ashipfd.dto.LoginRequest;
+import com.finance.ashipfd.dto.RegisterRequest;
+import com.finance.ashipfd.dto.SyncResponse;
+import com.finance.ashipfd.dto.TransactionFilter;
+import com.finance.ashipfd.dto.TransactionPageResponse;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.dto.UpdateTransactionRequest;
+import com.finance.ashipfd.exception.TransactionNotFoundException;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.ImportJobStatus;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import com.finance.ashipfd.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static com.finance.ashipfd.support.QueryCountAssertions.assertStatements;
+import static com.finance.ashipfd.support.QueryCountAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Exact SQL statement count for every service method
+ *
+ * NOT @Transactional: each service call has to run (and commit) its own
+ * transactions, otherwise flushes never happen and lazy loads hit the
+ * test's persistence context instead of the db
+ *
+ * A number going up here = new query on that path, look at the SQL in the
+ * failure message before bumping it
+ */
+@SpringBootTest
+class ServiceQueryCountTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryBudgetService categoryBudgetService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        userId = newUser("queries-" + System.nanoTime() + "@test.com", "x");
+    }
+
+    // ---- TransactionService ----
+
+    @Test
+    void createTransaction() {
+        // insert + rollup upsert
+        assertStatements(2, () -> transactionService.createTransaction(expense("10.00", 1), userId));
+    }
+
+    @Test
+    void createTransactionsIsOneBatchPlusOneRollupBatch() {
+        List<CreateTransactionRequest> items = List.of(
+                expense("1.00", 1), expense("2.00", 2), expense("3.00", 3), expense("4.00", 4));
+
+        assertStatements(2, () -> transactionService.createTransactions(new BulkCreateTransactionRequest(items), userId));
+    }
+
+    @Test
+    void listsAreOneQueryRegardlessOfRowCount() {
+        for (int i = 1; i <= 5; i++) {
+            transactionService.createTransaction(expense(i + ".00", i), userId);
+        }
+        TransactionFilter filter = new TransactionFilter();
+        filter.setCategories(Set.of(TransactionCategory.GROCERIES));
+
+        assertThat(assertStatements(1, () -> transactionService.getAllUserTransactions(userId))).hasSize(5);
+        assertThat(assertStatements(1, () -> transactionService.getAllUserTransactions(userId, filter))).hasSize(5);
+
+        TransactionPageResponse first = assertStatements(1, () -> transactionService.getUserTransactionsPage(userId, 2, null));
+        assertThat(first.getNextCursor()).isNotNull();
+        assertStatements(1, () -> transactionService.getUserTransactionsPage(userId, 2, first.getNextCursor()));
+        assertStatements(1, () -> transactionService.getUserTransactionsPage(userId, 2, null, filter));
+        assertStatements(1, () -> transactionService.getUserTransactionsPage(userId, 2, first.getNextCursor(), filter));
+    }
+
+    @Test
+    void monthlySummaryReadsTheRollupOnly() {
+        transactionService.createTransaction(expense("10.00", 1), userId);
+
+        assertStatements(1, () -> transactionService.getMonthlySummary(userId, 1, 2026));
+    }
+
+    @Test
+    void getTransactionByIdDoesNotLoadTheUser() {
+        Long id = transactionService.createTransaction(expense("10.00", 1), userId).getId();
+        Long otherUserId = newUser("queries-other-" + System.nanoTime() + "@test.com", "x");
+
+        assertStatements(1, () -> transactionService.getTransactionById(id, userId));
+        assertStatements(1, () -> assertThatThrownBy(() -> transactionService.getTransactionById(id, otherUserId))
+                .isInstanceOf(TransactionNotFoundException.class));
+    }
+
+    @Test
+    void updateTransaction() {
+        Long id = transactionService.createTransaction(expense("10.00", 1), userId).getId();
+
+        // select + update + rollup (-old +new)
+        assertStatements(3, () -> transactionService.updateTransaction(id,
+                new UpdateTransactionRequest(new BigDecimal("12.00"), null, null, null, null), userId));
+        // Same rollup bucket + amount -> no rollup write
+        assertStatements(2, () -> transactionService.updateTransaction(id,
+                new UpdateTransactionRequest(null, null, null, "renamed", null), userId));
+    }
+
+    @Test
+    void deleteTransaction() {
+        Long id = transactionService.createTransaction(expense("10.00", 1), userId).getId();
+
+        // select + tombstone + delete + rollup
+        assertStatements(4, () -> transactionService.deleteTransaction(id, userId));
+    }
+
+    // ---- BudgetService / CategoryBudgetService ----
+
+    @Test
+    void getBudgetHitsTheDbOnlyOnACacheMiss() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("500.00")), userId);
+
+        assertStatements(1, () -> budgetService.getBudget(userId, 1, 2026));
+        assertStatements(0, () -> budgetService.getBudget(userId, 1, 2026));
+    }
+
+    @Test
+    void setBudget() {
+        // One upsert, insert or update
+        assertStatements(1, () -> budgetService.setBudget(
+                new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("500.00")), userId));
+        assertStatements(1, () -> budgetService.setBudget(
+                new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("600.00")), userId));
+    }
+
+    @Test
+    void budgetStatusIsThreeQueries() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        for (TransactionCategory category : List.of(TransactionCategory.GROCERIES, TransactionCategory.GAS,
+                TransactionCategory.DINING_OUT)) {
+            categoryBudgetService.setCategoryBudget(new CategoryBudgetRequest(1, 2026, new BigDecimal("100.00"), category), userId);
+        }
+        transactionService.createTransaction(expense("10.00", 1), userId);
+
+        assertStatements(3, () -> budgetService.getBudgetStatus(userId, 1, 2026));
+    }
+
+    @Test
+    void deleteBudget() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("500.00")), userId);
+
+        // lookup + tombstone + delete, nothing there -> just the lookup
+        assertStatements(3, () -> budgetService.deleteBudget(userId, 1, 2026));
+        assertStatements(1, () -> budgetService.deleteBudget(userId, 1, 2026));
+    }
+
+    @Test
+    void copyBudget() {
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.GENERAL, new BigDecimal("500.00")), userId);
+        for (TransactionCategory category : List.of(TransactionCategory.GROCERIES, TransactionCategory.GAS,
+                TransactionCategory.DINING_OUT)) {
+            categoryBudgetService.setCategoryBudget(new CategoryBudgetRequest(1, 2026, new BigDecimal("100.00"), category), userId);
+        }
+
+        // source, target check, INSERT ... SELECT per table, read back
+        assertStatements(5, () -> budgetService.copyBudget(new BudgetCopyRequest(1, 2026, 2, 2026, true, true), userId));
+        // Same for a whole range of months
+        assertStatements(5, () -> budgetService.copyBudgetRange(
+                new BudgetCopyRangeRequest(1, 2026, 3, 2026, 12, 2026, true, true), userId));
+    }
+
+    @Test
+    void categoryBudgets() {
+        CategoryBudgetRequest groceries = new CategoryBudgetRequest(1, 2026, new BigDecimal("100.00"), TransactionCategory.GROCERIES);
+
+        // upsert + touch the month's CATEGORY_SUM budget (delta sync)
+        assertStatements(2, () -> categoryBudgetService.setCategoryBudget(groceries, userId));
+        groceries.setAmount(new BigDecimal("150.00"));
+        assertStatements(2, () -> categoryBudgetService.setCategoryBudget(groceries, userId));
+
+        assertStatements(1, () -> categoryBudgetService.getCategoryBudgets(userId, 1, 2026));
+        assertStatements(0, () -> categoryBudgetService.getCategoryBudgets(userId, 1, 2026));
+
+        assertStatements(4, () -> categoryBudgetService.deleteCategoryBudget(userId, 1, 2026, TransactionCategory.GROCERIES));
+    }
+
+    @Test
+    void bulkCategoryBudgetsAreOneBatchWhateverTheCount() {
+        List<CategoryBudgetAmount> month = List.of(
+                new CategoryBudgetAmount(TransactionCategory.GROCERIES, new BigDecimal("400.00")),
+                new CategoryBudgetAmount(TransactionCategory.DINING_OUT, new BigDecimal("200.00")),
+                new CategoryBudgetAmount(TransactionCategory.GAS, new BigDecimal("100.00")));
+
+        // replace: tombstones + delete the rest + upsert batch + read back + touch the CATEGORY_SUM budget
+        assertStatements(5, () -> categoryBudgetService.setCategoryBudgets(
+                new BulkCategoryBudgetRequest(1, 2026, true, month), userId));
+        // merge: no delete
+        assertStatements(3, () -> categoryBudgetService.setCategoryBudgets(
+                new BulkCategoryBudgetRequest(1, 2026, false, month), userId));
+    }
+
+    // ---- UserService ----
+
+    @Test
+    void userLookupsRegisterLoginLogout() {
+        String email = "queries-reg-" + System.nanoTime() + "@test.com";
+
+        // exists check on this thread, the insert runs on the hasher thread once the hash is done
+        User user = assertStatements(1, () -> userService.registerUser(new RegisterRequest(email, "hunter22", "A", "B")))
+                .join();
+        assertStatements(1, () -> userService.findById(user.getId()));
+        assertStatements(1, () -> userService.findByEmail(email));
+
+        // Hash already at the current cost -> no rehash write
+        String token = assertStatements(1, () -> userService.loginUser(new LoginRequest(email, "hunter22"))).join();
+        // Revocation is in-memory
+        assertStatements(0, () -> userService.logoutUser(token));
+    }
+
+    // ---- MonthlyRollupService ----
+
+    @Test
+    void rollupReadsAndRebuild() {
+        transactionService.createTransaction(expense("10.00", 1), userId);
+        transactionService.createTransaction(expense("5.00", 2), userId);
+
+        assertStatements(1, () -> monthlyRollupService.getTotals(userId, 2026, 1));
+        // raw aggregate + rollup rows
+        assertThat(assertStatements(2, () -> monthlyRollupService.verify(userId)).hasDrift()).isFalse();
+        // delete + insert ... select
+        assertStatements(2, () -> monthlyRollupService.rebuild(userId));
+    }
+
+    @Test
+    void verifyAllIsTwoQueriesPerUser() {
+        transactionService.createTransaction(expense("10.00", 1), userId);
+        long users = userRepository.count();
+
+        // user ids + (aggregate + rollup) per user; the scheduled sweep, so per-user is fine
+        int statements = countStatements(() -> monthlyRollupService.verifyAll());
+        assertThat(statements).isEqualTo(1 + 2 * (int) users);
+    }
+
+    @Test
+    void verifyAllRepairsADriftedUserInItsOwnTransaction() {
+        transactionService.createTransaction(expense("10.00", 1), userId);
+        jdbcTemplate.update("UPDATE monthly_category_totals SET total = 1.00 WHERE user_id = ?", userId);
+        long users = userRepository.count();
+
+        // + delete + insert ... select for the one drifted user
+        int statements = countStatements(() -> monthlyRollupService.verifyAll());
+        assertThat(statements).isEqualTo(1 + 2 * (int) users + 2);
+        assertThat(monthlyRollupService.verify(userId).hasDrift()).isFalse();
+    }
+
+    // ---- SyncService ----
+
+    @Test
+    void syncIsOneQueryPerTableWhateverChanged() {
+        transactionService.createTransaction(expense("10.00", 1), userId);
+        transactionService.createTransaction(expense("20.00", 2), userId);
+        categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(1, 2026, new BigDecimal("100.00"), TransactionCategory.GROCERIES), userId);
+
+        // full: transactions + budgets + category budgets
+        SyncResponse full = assertStatements(3, () -> syncService.getChanges(userId, null));
+        // diff: + tombstones
+        assertStatements(4, () -> syncService.getChanges(userId, full.getWatermark()));
+    }
+
+    // ---- TransactionExportService ----
+
+    @Test
+    void exportStreamsFromOneQuery() {
+        for (int i = 1; i <= 5; i++) {
+            transactionService.createTransaction(expense(i + ".00", i), userId);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = assertStatements(1, () -> {
+            try {
+                return exportService.export(userId, ExportFormat.NDJSON, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(rows).isEqualTo(5);
+    }
+
+    // ---- ImportService ----
+
+    @Test
+    void importRequestThreadRunsNoQueries() throws Exception {
+        Path csv = Files.createTempFile("queries-", ".csv");
+        Files.writeString(csv, "date,amount,category,description\n2026-01-01,-4.50,GROCERIES,Milk\n");
+
+        // The pipeline does the inserts on its own threads (via createTransactions)
+        String jobId = assertStatements(0, () -> importService.submit(userId, "q.csv", csv)).getId();
+        await().atMost(Duration.ofSeconds(10)).until(() ->
+                importService.getJob(jobId, userId).getStatus() == ImportJobStatus.COMPLETED);
+
+        ImportJobResponse job = assertStatements(0, () -> importService.getJob(jobId, userId));
+        assertThat(job.getRowsImported()).isEqualTo(1);
+        assertStatements(0, () -> importService.cancelJob(jobId, userId));
+    }
+
+    private Long newUser(String email, String password) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(new BCryptPasswordEncoder(5).encode(password));
+        return userRepository.save(user).getId();
+    }
+
+    private static CreateTransactionRequest expense(String amount, int day) {
+        return new CreateTransactionRequest(new BigDecimal(amount), TransactionType.EXPENSE,
+                TransactionCategory.GROCERIES, "item " + day, LocalDate.of(2026, 1, day));
+    }
+}
@@ -0,0 +1,221 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BudgetRequest;
+import com.finance.ashipfd.dto.BudgetResponse;
+import com.finance.ashipfd.dto.BulkCategoryBudgetRequest;
+import com.finance.ashipfd.dto.CategoryBudgetAmount;
+import com.finance.ashipfd.dto.CategoryBudgetRequest;
+import com.finance.ashipfd.dto.CategoryBudgetResponse;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.SyncResponse;
+import com.finance.ashipfd.dto.TombstoneResponse;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.dto.UpdateTransactionRequest;
+import com.finance.ashipfd.model.BudgetType;
+import com.finance.ashipfd.model.SyncEntityType;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+class SyncServiceTest {
+
+    @Autowired
+    private SyncService syncService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    @Autowired
+    private CategoryBudgetService categoryBudgetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private WriteTransactionDeadline writeTransactionDeadline;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("sync-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void diffHasOnlyWhatChangedOrWasDeletedSinceTheWatermark() {
+        TransactionResponse edited = create("10.00");
+        TransactionResponse deleted = create("20.00");
+        TransactionResponse untouched = create("30.00");
+        budgetService.setBudget(new BudgetRequest(1, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        CategoryBudgetResponse groceries = categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(1, 2026, new BigDecimal("400.00"), TransactionCategory.GROCERIES), userId);
+
+        // Everything above happened yesterday
+        backdate(LocalDateTime.now().minusDays(1));
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+
+        transactionService.updateTransaction(edited.getId(),
+                new UpdateTransactionRequest(new BigDecimal("15.00"), null, null, null, null), userId);
+        transactionService.deleteTransaction(deleted.getId(), userId);
+        categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(1, 2026, true, List.of(
+                new CategoryBudgetAmount(TransactionCategory.DINING_OUT, new BigDecimal("200.00")))), userId);
+        entityManager.flush();
+
+        SyncResponse diff = syncService.getChanges(userId, since);
+
+        assertThat(diff.isFull()).isFalse();
+        assertThat(diff.getWatermark()).isBefore(LocalDateTime.now());
+        assertThat(diff.getTransactions()).singleElement().satisfies(t -> {
+            assertThat(t.getId()).isEqualTo(edited.getId());
+            assertThat(t.getAmount()).isEqualByComparingTo("15.00");
+        });
+        // Not edited itself, but its total moved with the category budgets
+        assertThat(diff.getBudgets()).singleElement().satisfies(b ->
+                assertThat(b.getEffectiveAmount()).isEqualByComparingTo("200.00"));
+        assertThat(diff.getCategoryBudgets()).extracting(CategoryBudgetResponse::getCategory)
+                .containsExactly(TransactionCategory.DINING_OUT);
+        assertThat(diff.getDeleted())
+                .extracting(TombstoneResponse::getType, TombstoneResponse::getId)
+                .containsExactlyInAnyOrder(
+                        tuple(SyncEntityType.TRANSACTION, deleted.getId()),
+                        tuple(SyncEntityType.CATEGORY_BUDGET, groceries.getId()));
+
+        // Nothing since "now" except what the overlap window repeats
+        assertThat(syncService.getChanges(userId, LocalDateTime.now().plusMinutes(1)).getTransactions()).isEmpty();
+
+        SyncResponse full = syncService.getChanges(userId, null);
+        assertThat(full.isFull()).isTrue();
+        assertThat(full.getTransactions()).extracting(TransactionResponse::getId)
+                .containsExactlyInAnyOrder(edited.getId(), untouched.getId());
+        assertThat(full.getBudgets()).hasSize(1);
+        assertThat(full.getDeleted()).isEmpty();
+    }
+
+    @Test
+    void categorySumBudgetSyncsTheSameEffectiveAmountAsGetBudgets() {
+        budgetService.setBudget(new BudgetRequest(2, 2026, BudgetType.CATEGORY_SUM, null), userId);
+        budgetService.setBudget(new BudgetRequest(3, 2026, BudgetType.GENERAL, new BigDecimal("900.00")), userId);
+        categoryBudgetService.setCategoryBudgets(new BulkCategoryBudgetRequest(2, 2026, false, List.of(
+                new CategoryBudgetAmount(TransactionCategory.GROCERIES, new BigDecimal("400.00")),
+                new CategoryBudgetAmount(TransactionCategory.DINING_OUT, new BigDecimal("150.00")))), userId);
+        // Another month's category budget doesn't count
+        categoryBudgetService.setCategoryBudget(
+                new CategoryBudgetRequest(3, 2026, new BigDecimal("75.00"), TransactionCategory.GROCERIES), userId);
+        entityManager.flush();
+
+        assertThat(syncService.getChanges(userId, null).getBudgets())
+                .extracting(BudgetResponse::getMonth, b -> b.getEffectiveAmount().setScale(2))
+                .containsExactlyInAnyOrder(
+                        tuple(2, new BigDecimal("550.00")),
+                        tuple(3, new BigDecimal("900.00")));
+        assertThat(budgetService.getBudget(userId, 2, 2026).getEffectiveAmount()).isEqualByComparingTo("550.00");
+
+        // Deleting a category budget re-sends the month's budget with the new total
+        backdate(LocalDateTime.now().minusDays(1));
+        LocalDateTime since = LocalDateTime.now().minusHours(1);
+        categoryBudgetService.deleteCategoryBudget(userId, 2, 2026, TransactionCategory.DINING_OUT);
+        entityManager.flush();
+
+        assertThat(syncService.getChanges(userId, since).getBudgets()).singleElement().satisfies(b -> {
+            assertThat(b.getMonth()).isEqualTo(2);
+            assertThat(b.getEffectiveAmount()).isEqualByComparingTo("400.00");
+        });
+    }
+
+    @Test
+    void watermarkOlderThanTombstoneRetentionGetsFullSnapshot() {
+        create("10.00");
+
+        SyncResponse stale = syncService.getChanges(userId, LocalDateTime.now().minusDays(365));
+
+        assertThat(stale.isFull()).isTrue();
+        assertThat(stale.getTransactions()).hasSize(1);
+    }
+
+    @Test
+    void onlyWritesThatStampUpdatedAtAreCapped() {
+        // The overlap is only safe if nothing that stamps commits later than this cap
+        assertThat(((ConfigurableTransactionManager) transactionManager).getTransactionExecutionListeners())
+                .contains(writeTransactionDeadline);
+        assertThat(WriteTransactionDeadline.LIMIT).isLessThan(Duration.ofSeconds(60));
+
+        assertThat(timeoutOf(TransactionService.class, "createTransaction", "createTransactions",
+                "updateTransaction", "deleteTransaction"))
+                .containsOnly(WriteTransactionDeadline.TIMEOUT_SECONDS);
+        assertThat(timeoutOf(BudgetService.class, "setBudget", "deleteBudget", "copyBudget", "copyBudgetRange"))
+                .containsOnly(WriteTransactionDeadline.TIMEOUT_SECONDS);
+        assertThat(timeoutOf(CategoryBudgetService.class, "setCategoryBudget", "setCategoryBudgets",
+                "deleteCategoryBudget"))
+                .containsOnly(WriteTransactionDeadline.TIMEOUT_SECONDS);
+
+        // Reads and maintenance stay unbounded
+        assertThat(timeoutOf(SyncService.class, "getChanges", "purgeTombstones"))
+                .containsOnly(TransactionDefinition.TIMEOUT_DEFAULT);
+        assertThat(timeoutOf(MonthlyRollupService.class, "verify", "rebuild"))
+                .containsOnly(TransactionDefinition.TIMEOUT_DEFAULT);
+    }
+
+    private TransactionResponse create(String amount) {
+        return transactionService.createTransaction(new CreateTransactionRequest(
+                new BigDecimal(amount), TransactionType.EXPENSE, TransactionCategory.GROCERIES, null,
+                LocalDate.of(2026, 1, 5)), userId);
+    }
+
+    private static List<Integer> timeoutOf(Class<?> service, String... methods) {
+        AnnotationTransactionAttributeSource source = new AnnotationTransactionAttributeSource();
+        List<String> names = List.of(methods);
+        List<Integer> timeouts = Arrays.stream(service.getDeclaredMethods())
+                .filter(method -> names.contains(method.getName()))
+                .map(method -> source.getTransactionAttribute(method, service).getTimeout())
+                .toList();
+        assertThat(timeouts).hasSizeGreaterThanOrEqualTo(names.size());
+        return timeouts;
+    }
+
+    private void backdate(LocalDateTime when) {
+        entityManager.flush();
+        entityManager.clear();
+        for (String table : List.of("transactions", "budgets", "category_budgets")) {
+            jdbcTemplate.update("UPDATE " + table + " SET updated_at = ? WHERE user_id = ?", when, userId);
+        }
+    }
+}
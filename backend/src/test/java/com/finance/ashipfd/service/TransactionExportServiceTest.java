@@ -0,0 +1,150 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.ExportFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Export has to stream, not build a list
+ * Seeds a big history on H2 and checks heap doesn't grow with row count
+ */
+@SpringBootTest
+class TransactionExportServiceTest {
+
+    private static final int ROWS = 200_000;
+
+    /**
+     * Retained heap the export is allowed to add on top of the seeded db
+     * Materializing 200k entities + DTOs blows way past this
+     */
+    private static final long HEAP_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    @Autowired
+    private TransactionExportService exportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM users WHERE email = 'export@test.com'");
+        jdbcTemplate.update(
+                "INSERT INTO users (email, password, created_at) VALUES ('export@test.com', 'x', CURRENT_TIMESTAMP)");
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'export@test.com'", Long.class);
+
+        LocalDateTime start = LocalDateTime.of(2015, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(5_000);
+        for (int i = 0; i < ROWS; i++) {
+            LocalDateTime created = start.plusMinutes(i);
+            batch.add(new Object[]{
+                    userId,
+                    "12.34",
+                    i % 5 == 0 ? "INCOME" : "EXPENSE",
+                    i % 5 == 0 ? "SALARY" : "GROCERIES",
+                    i % 7 == 0 ? "coffee, \"large\"" : "row " + i,
+                    Date.valueOf(created.toLocalDate()),
+                    Timestamp.valueOf(created)
+            });
+            if (batch.size() == 5_000) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+    }
+
+    private void insert(List<Object[]> batch) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO transactions (id, user_id, amount, type, category, description, transaction_date, created_at)
+                VALUES (NEXT VALUE FOR transactions_id_seq, ?, CAST(? AS DECIMAL(19,2)), ?, ?, ?, ?, ?)
+                """, batch);
+    }
+
+    @Test
+    void exportsLargeHistoryWithinFixedHeapBudget() throws Exception {
+        HeapSamplingOutputStream out = new HeapSamplingOutputStream();
+
+        long written = exportService.export(userId, ExportFormat.NDJSON, out);
+
+        assertThat(written).isEqualTo(ROWS);
+        assertThat(out.newlines).isEqualTo(ROWS);
+        assertThat(out.maxGrowth())
+                .as("heap growth during export")
+                .isLessThan(HEAP_BUDGET_BYTES);
+    }
+
+    @Test
+    void csvExportEscapesAndHasHeader() throws Exception {
+        jdbcTemplate.update("DELETE FROM transactions WHERE id NOT IN (SELECT MAX(id) FROM transactions)");
+        jdbcTemplate.update("UPDATE transactions SET description = 'coffee, \"large\"'");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.export(userId, ExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(written).isEqualTo(1);
+        assertThat(lines[0]).isEqualTo(TransactionExportService.CSV_HEADER);
+        assertThat(lines[1]).contains(",\"coffee, \"\"large\"\"\",");
+        assertThat(lines[1]).contains(",12.34,");
+    }
+
+    /**
+     * Discards the bytes, but every few thousand lines forces a GC
+     * and records how much heap is still live
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        private final Runtime runtime = Runtime.getRuntime();
+        private final long baseline;
+        private long maxUsed;
+        private long newlines;
+
+        HeapSamplingOutputStream() {
+            this.baseline = usedAfterGc();
+            this.maxUsed = baseline;
+        }
+
+        @Override
+        public void write(int b) {
+            count((byte) b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                count(b[i]);
+            }
+        }
+
+        private void count(byte b) {
+            if (b == '\n' && ++newlines % 25_000 == 0) {
+                maxUsed = Math.max(maxUsed, usedAfterGc());
+            }
+        }
+
+        private long usedAfterGc() {
+            System.gc();
+            return runtime.totalMemory() - runtime.freeMemory();
+        }
+
+        long maxGrowth() {
+            return maxUsed - baseline;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.BulkCreateTransactionRequest;
+import com.finance.ashipfd.dto.CreateTransactionRequest;
+import com.finance.ashipfd.dto.MonthlySummaryResponse;
+import com.finance.ashipfd.dto.TransactionFilter;
+import com.finance.ashipfd.dto.TransactionPageResponse;
+import com.finance.ashipfd.dto.TransactionResponse;
+import com.finance.ashipfd.dto.UpdateTransactionRequest;
+import com.finance.ashipfd.exception.GlobalExceptionHandler;
+import com.finance.ashipfd.exception.InvalidCursorException;
+import com.finance.ashipfd.model.TransactionCategory;
+import com.finance.ashipfd.model.TransactionType;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.TransactionRepository;
+import com.finance.ashipfd.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class TransactionServiceTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MonthlyRollupService monthlyRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        User user = new User();
+        user.setEmail("batch-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        userId = userRepository.save(user).getId();
+    }
+
+    @Test
+    void createTransactionsInsertsWholeBatchInOrder() {
+        List<CreateTransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < 123; i++) {
+            items.add(new CreateTransactionRequest(
+                    new BigDecimal(i + 1), TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "item " + i, i % 2 == 0 ? LocalDate.of(2025, 12, 1) : null));
+        }
+
+        List<TransactionResponse> created = transactionService.createTransactions(
+                new BulkCreateTransactionRequest(items), userId);
+
+        assertThat(created).hasSize(123);
+        assertThat(created).extracting(TransactionResponse::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(created).extracting(TransactionResponse::getUserId).containsOnly(userId);
+        assertThat(created.get(5).getDescription()).isEqualTo("item 5");
+        assertThat(created.get(1).getTransactionDate()).isEqualTo(LocalDate.now());
+        assertThat(transactionRepository.findByUserIdOrderByCreatedAtDesc(userId)).hasSize(123);
+    }
+
+    @Test
+    void projectedReadsMatchEntityMapping() {
+        create("10.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 1));
+        create("20.00", TransactionType.EXPENSE, TransactionCategory.GAS, LocalDate.of(2026, 1, 2));
+        create("30.00", TransactionType.INCOME, TransactionCategory.SALARY, LocalDate.of(2026, 1, 3));
+
+        // Managed entities from the test's persistence context - createdAt there has more
+        // precision than the column, so it's left out of the comparison
+        List<TransactionResponse> expected = transactionRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(transactionService::toDTO)
+                .toList();
+
+        assertThat(transactionService.getAllUserTransactions(userId))
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt")
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(transactionService.getUserTransactionsPage(userId, 10, null).getTransactions())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt")
+                .containsExactlyInAnyOrderElementsOf(expected);
+
+        TransactionFilter filter = new TransactionFilter();
+        filter.setType(TransactionType.INCOME);
+        assertThat(transactionService.getAllUserTransactions(userId, filter))
+                .singleElement()
+                .satisfies(t -> assertThat(t.getAmount()).isEqualByComparingTo("30.00"));
+
+        TransactionResponse first = expected.get(0);
+        assertThat(transactionService.getTransactionById(first.getId(), userId))
+                .usingRecursiveComparison()
+                .ignoringFields("createdAt")
+                .isEqualTo(first);
+    }
+
+    @Test
+    void monthlySummaryAggregatesOnlyThatMonth() {
+        create("6000.00", TransactionType.INCOME, TransactionCategory.SALARY, LocalDate.of(2026, 1, 15));
+        create("40.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 1));
+        create("60.50", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 31));
+        create("20.00", TransactionType.EXPENSE, TransactionCategory.DINING_OUT, LocalDate.of(2026, 1, 10));
+        // Outside January
+        create("999.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 2, 1));
+        create("999.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2025, 12, 31));
+
+        MonthlySummaryResponse summary = transactionService.getMonthlySummary(userId, 1, 2026);
+
+        assertThat(summary.getTotalIncome()).isEqualByComparingTo("6000.00");
+        assertThat(summary.getTotalExpense()).isEqualByComparingTo("120.50");
+        assertThat(summary.getNet()).isEqualByComparingTo("5879.50");
+        assertThat(summary.getCategories()).hasSize(3);
+        assertThat(summary.getCategories())
+                .filteredOn(c -> c.getCategory() == TransactionCategory.GROCERIES)
+                .singleElement()
+                .satisfies(c -> {
+                    assertThat(c.getTotal()).isEqualByComparingTo("100.50");
+                    assertThat(c.getCount()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void updateMovesAmountBetweenRollupBuckets() {
+        TransactionResponse coffee = create("15.00", TransactionType.EXPENSE, TransactionCategory.DINING_OUT,
+                LocalDate.of(2026, 1, 20));
+        create("5.00", TransactionType.EXPENSE, TransactionCategory.DINING_OUT, LocalDate.of(2026, 1, 21));
+
+        // New category AND new month
+        UpdateTransactionRequest move = new UpdateTransactionRequest();
+        move.setCategory(TransactionCategory.GROCERIES);
+        move.setTransactionDate(LocalDate.of(2026, 2, 3));
+        move.setAmount(new BigDecimal("17.00"));
+        transactionService.updateTransaction(coffee.getId(), move, userId);
+
+        MonthlySummaryResponse january = transactionService.getMonthlySummary(userId, 1, 2026);
+        assertThat(january.getTotalExpense()).isEqualByComparingTo("5.00");
+        assertThat(january.getCategories()).singleElement()
+                .satisfies(c -> assertThat(c.getCount()).isEqualTo(1));
+
+        MonthlySummaryResponse february = transactionService.getMonthlySummary(userId, 2, 2026);
+        assertThat(february.getTotalExpense()).isEqualByComparingTo("17.00");
+        assertThat(february.getCategories()).singleElement()
+                .satisfies(c -> assertThat(c.getCategory()).isEqualTo(TransactionCategory.GROCERIES));
+
+        // Same bucket, just a new amount
+        UpdateTransactionRequest reprice = new UpdateTransactionRequest();
+        reprice.setAmount(new BigDecimal("20.00"));
+        transactionService.updateTransaction(coffee.getId(), reprice, userId);
+        assertThat(transactionService.getMonthlySummary(userId, 2, 2026).getTotalExpense())
+                .isEqualByComparingTo("20.00");
+
+        transactionService.deleteTransaction(coffee.getId(), userId);
+        assertThat(transactionService.getMonthlySummary(userId, 2, 2026).getCategories()).isEmpty();
+        assertThat(monthlyRollupService.verify(userId).hasDrift()).isFalse();
+    }
+
+    @Test
+    void verifyReportsDriftAndRebuildFixesIt() {
+        create("40.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 3, 1));
+        create("60.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 3, 2));
+        create("6000.00", TransactionType.INCOME, TransactionCategory.SALARY, LocalDate.of(2026, 3, 15));
+        assertThat(monthlyRollupService.verify(userId).hasDrift()).isFalse();
+
+        // Something wrote around the service: one bucket off, one missing
+        jdbcTemplate.update("UPDATE monthly_category_totals SET total = 1.00 WHERE user_id = ? AND category = 'GROCERIES'",
+                userId);
+        jdbcTemplate.update("DELETE FROM monthly_category_totals WHERE user_id = ? AND category = 'SALARY'", userId);
+
+        MonthlyRollupService.DriftReport report = monthlyRollupService.verify(userId);
+        assertThat(report.drifts()).hasSize(2);
+
+        monthlyRollupService.rebuild(userId);
+
+        assertThat(monthlyRollupService.verify(userId).hasDrift()).isFalse();
+        MonthlySummaryResponse march = transactionService.getMonthlySummary(userId, 3, 2026);
+        assertThat(march.getTotalExpense()).isEqualByComparingTo("100.00");
+        assertThat(march.getTotalIncome()).isEqualByComparingTo("6000.00");
+    }
+
+    @Test
+    void pagesFollowCreatedAtThenIdAndSplitTiesAcrossPages() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(create("1" + i + ".00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    LocalDate.of(2026, 1, 1)).getId());
+        }
+        // First three created in the same instant, last two earlier -> (createdAt DESC, id DESC)
+        // is 2, 1, 0, 4, 3 and the tie group straddles the first page boundary
+        LocalDateTime later = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime earlier = later.minusHours(1);
+        entityManager.flush();
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE id = ?",
+                    i < 3 ? later : earlier, ids.get(i));
+        }
+        List<Long> expected = List.of(ids.get(2), ids.get(1), ids.get(0), ids.get(4), ids.get(3));
+
+        assertThat(readAllPages(null)).isEqualTo(expected);
+
+        // Filtered pages seek through the Specification instead, same order
+        TransactionFilter expenses = new TransactionFilter();
+        expenses.setType(TransactionType.EXPENSE);
+        assertThat(readAllPages(expenses)).isEqualTo(expected);
+    }
+
+    @Test
+    void pageSizeIsClampedToOneThroughMax() {
+        List<CreateTransactionRequest> items = new ArrayList<>();
+        for (int i = 0; i < TransactionService.MAX_PAGE_SIZE + 1; i++) {
+            items.add(new CreateTransactionRequest(new BigDecimal("1.00"), TransactionType.EXPENSE,
+                    TransactionCategory.GROCERIES, null, LocalDate.of(2026, 1, 1)));
+        }
+        transactionService.createTransactions(new BulkCreateTransactionRequest(items), userId);
+
+        TransactionPageResponse huge = transactionService.getUserTransactionsPage(userId, 10_000, null);
+        assertThat(huge.getTransactions()).hasSize(TransactionService.MAX_PAGE_SIZE);
+        assertThat(huge.isHasMore()).isTrue();
+
+        for (int limit : new int[]{0, -5}) {
+            TransactionPageResponse tiny = transactionService.getUserTransactionsPage(userId, limit, null);
+            assertThat(tiny.getTransactions()).hasSize(1);
+            assertThat(tiny.getNextCursor()).isNotNull();
+        }
+    }
+
+    @Test
+    void malformedCursorIsA400() {
+        create("1.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES, LocalDate.of(2026, 1, 1));
+
+        for (String cursor : List.of("not base64 at all!", base64("no-separator"), base64("yesterday|5"),
+                base64("2026-01-01T10:00|five"), base64("|5"))) {
+            assertThatThrownBy(() -> transactionService.getUserTransactionsPage(userId, 10, cursor))
+                    .as(cursor)
+                    .isInstanceOf(InvalidCursorException.class)
+                    .satisfies(e -> assertThat(new GlobalExceptionHandler()
+                            .handleInvalidCursorException((InvalidCursorException) e).getStatusCode())
+                            .isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    @Test
+    void combinedFilterReturnsOnlyMatchingRowsOfThatUser() {
+        Long otherUserId = newUser();
+        List<Long> expected = new ArrayList<>();
+        for (Long owner : List.of(userId, otherUserId)) {
+            // Matches every clause (both range ends are inclusive)
+            Long a = describe(owner, "5.00", TransactionType.EXPENSE, TransactionCategory.DINING_OUT,
+                    "Coffee 100% ARABICA", LocalDate.of(2026, 1, 10));
+            Long b = describe(owner, "4.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "100% juice", LocalDate.of(2026, 1, 5));
+            Long c = describe(owner, "50.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "oat milk 100%", LocalDate.of(2026, 1, 20));
+            if (owner.equals(userId)) {
+                expected.addAll(List.of(a, b, c));
+            }
+            // Each one misses exactly one clause
+            describe(owner, "5.00", TransactionType.EXPENSE, TransactionCategory.DINING_OUT,
+                    "Coffee 1000 beans", LocalDate.of(2026, 1, 10));           // % is literal
+            describe(owner, "50.01", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "100% juice", LocalDate.of(2026, 1, 10));                  // over max
+            describe(owner, "3.99", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "100% juice", LocalDate.of(2026, 1, 10));                  // under min
+            describe(owner, "10.00", TransactionType.INCOME, TransactionCategory.GROCERIES,
+                    "100% refund", LocalDate.of(2026, 1, 10));                 // type
+            describe(owner, "10.00", TransactionType.EXPENSE, TransactionCategory.GAS,
+                    "100% fuel", LocalDate.of(2026, 1, 10));                   // category
+            describe(owner, "10.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "100% juice", LocalDate.of(2026, 1, 4));                   // before range
+            describe(owner, "10.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                    "100% juice", LocalDate.of(2026, 1, 21));                  // after range
+        }
+
+        TransactionFilter filter = new TransactionFilter(
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 20), TransactionType.EXPENSE,
+                Set.of(TransactionCategory.DINING_OUT, TransactionCategory.GROCERIES),
+                new BigDecimal("4.00"), new BigDecimal("50.00"), " 100% ");
+
+        assertThat(transactionService.getAllUserTransactions(userId, filter))
+                .extracting(TransactionResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(transactionService.getUserTransactionsPage(userId, 50, null, filter).getTransactions())
+                .extracting(TransactionResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    @Test
+    void descriptionUnderscoreAndBackslashMatchLiterally() {
+        Long underscore = describe(userId, "1.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                "ref a_b", LocalDate.of(2026, 1, 1));
+        describe(userId, "1.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                "ref axb", LocalDate.of(2026, 1, 1));
+        Long backslash = describe(userId, "1.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                "C:\\path\\to", LocalDate.of(2026, 1, 1));
+        // what "h\t" would match if the backslash were taken as an escape
+        describe(userId, "1.00", TransactionType.EXPENSE, TransactionCategory.GROCERIES,
+                "pathto", LocalDate.of(2026, 1, 1));
+
+        assertThat(descriptionMatches("A_B")).containsExactly(underscore);
+        assertThat(descriptionMatches("h\\t")).containsExactly(backslash);
+    }
+
+    private List<Long> descriptionMatches(String text) {
+        TransactionFilter filter = new TransactionFilter();
+        filter.setDescription(text);
+        return transactionService.getAllUserTransactions(userId, filter).stream()
+                .map(TransactionResponse::getId)
+                .toList();
+    }
+
+    private Long newUser() {
+        User user = new User();
+        user.setEmail("other-" + System.nanoTime() + "@test.com");
+        user.setPassword("x");
+        return userRepository.save(user).getId();
+    }
+
+    private Long describe(Long owner, String amount, TransactionType type, TransactionCategory category,
+                          String description, LocalDate date) {
+        return transactionService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal(amount), type, category, description, date), owner).getId();
+    }
+
+    /**
+     * Walks every page two rows at a time, returns the ids in the order they came back
+     */
+    private List<Long> readAllPages(TransactionFilter filter) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        TransactionPageResponse page;
+        do {
+            page = transactionService.getUserTransactionsPage(userId, 2, cursor, filter);
+            page.getTransactions().forEach(t -> seen.add(t.getId()));
+            cursor = page.getNextCursor();
+            assertThat(cursor != null).isEqualTo(page.isHasMore());
+        } while (page.isHasMore());
+        return seen;
+    }
+
+    private static String base64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransactionResponse create(String amount, TransactionType type, TransactionCategory category, LocalDate date) {
+        return transactionService.createTransaction(
+                new CreateTransactionRequest(new BigDecimal(amount), type, category, null, date), userId);
+    }
+}
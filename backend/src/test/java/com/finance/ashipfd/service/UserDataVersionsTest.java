@@ -0,0 +1,112 @@
+package com.finance.ashipfd.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserDataVersionsTest {
+
+    private final UserDataVersions versions = new UserDataVersions(3, Duration.ofHours(1), Runnable::run);
+
+    @Test
+    void etagIsStableUntilTheUserWrites() {
+        String etag = versions.etag(1L);
+
+        assertThat(etag).startsWith("\"").endsWith("\"");
+        assertThat(versions.etag(1L)).isEqualTo(etag);
+        assertThat(versions.etag(2L)).isNotEqualTo(etag);
+
+        versions.bump(2L);
+        assertThat(versions.etag(1L)).isEqualTo(etag);
+
+        versions.bump(1L);
+        assertThat(versions.etag(1L)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void bumpWaitsForCommitAndSkipsRollback() {
+        long before = versions.current(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(1L);
+            assertThat(versions.current(1L)).isEqualTo(before);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        long committed = versions.current(1L);
+        assertThat(committed).isNotEqualTo(before);
+
+        // Rolled back: no bump
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            versions.bump(1L);
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(versions.current(1L)).isEqualTo(committed);
+    }
+
+    @Test
+    void bumpLandsAfterTheCacheEvictionWhicheverRegisteredFirst() {
+        BudgetCache cache = new BudgetCache(100, Duration.ofHours(1), Runnable::run);
+        cache.getBudget(1L, 1, 2026, () -> null);
+        long before = versions.current(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // delete paths bump before they evict
+            versions.bump(1L);
+            cache.evictBudget(1L, 1, 2026);
+
+            // Same order the transaction manager runs them in
+            List<TransactionSynchronization> ordered = TransactionSynchronizationManager.getSynchronizations();
+            ordered.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(cache.budgetStats().invalidations()).isEqualTo(1);
+            assertThat(versions.current(1L)).isEqualTo(before);
+
+            ordered.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            assertThat(versions.current(1L)).isNotEqualTo(before);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void droppedUsersNeverGetAnOldVersionBack() {
+        // max 3 users -> most of these get pushed out along the way. Which ones is up
+        // to Caffeine (W-TinyLFU, not LRU), so check every user: either still the
+        // same version, or one nobody has ever been handed
+        Map<Long, Long> first = new HashMap<>();
+        Set<Long> seen = new HashSet<>();
+        for (long userId = 1; userId <= 20; userId++) {
+            long version = versions.current(userId);
+            first.put(userId, version);
+            seen.add(version);
+        }
+        assertThat(versions.size()).isLessThanOrEqualTo(3);
+
+        int dropped = 0;
+        for (long userId = 1; userId <= 20; userId++) {
+            long version = versions.current(userId);
+            if (version != first.get(userId)) {
+                dropped++;
+                assertThat(seen).as("user %d", userId).doesNotContain(version);
+            }
+            seen.add(version);
+        }
+        assertThat(dropped).isGreaterThan(0);
+    }
+}
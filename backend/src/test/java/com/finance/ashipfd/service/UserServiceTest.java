@@ -0,0 +1,112 @@
+package com.finance.ashipfd.service;
+
+import com.finance.ashipfd.dto.LoginRequest;
+import com.finance.ashipfd.dto.RegisterRequest;
+import com.finance.ashipfd.exception.EmailAlreadyExistsException;
+import com.finance.ashipfd.exception.InvalidCredentialsException;
+import com.finance.ashipfd.model.User;
+import com.finance.ashipfd.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+
+/**
+ * Test config runs BCrypt at cost 5
+ */
+@SpringBootTest
+class UserServiceTest {
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    @Test
+    void loginRehashesOutdatedCost() {
+        String email = "rehash-" + System.nanoTime() + "@test.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(new BCryptPasswordEncoder(4).encode("hunter22"));
+        Long userId = userRepository.save(user).getId();
+
+        AtomicReference<String> writer = new AtomicReference<>();
+        doAnswer(inv -> {
+            writer.set(Thread.currentThread().getName());
+            return passThrough(inv);
+        }).when(userRepository).updatePasswordIfUnchanged(any(), any(), any());
+
+        String token = userService.loginUser(new LoginRequest(email, "hunter22")).join();
+        assertThat(token).isNotBlank();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(userRepository.findById(userId).orElseThrow().getPassword()).startsWith("$2a$05$"));
+        // The write doesn't hold a hashing slot
+        assertThat(writer.get()).isNotNull().doesNotStartWith("password-hasher-");
+
+        // New hash still works
+        assertThat(userService.loginUser(new LoginRequest(email, "hunter22")).join()).isNotBlank();
+    }
+
+    @Test
+    void wrongPasswordFailsTheFuture() {
+        String email = "wrongpw-" + System.nanoTime() + "@test.com";
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(new BCryptPasswordEncoder(5).encode("right"));
+        userRepository.save(user);
+
+        assertThatThrownBy(() -> userService.loginUser(new LoginRequest(email, "wrong")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(InvalidCredentialsException.class);
+        assertThatThrownBy(() -> userService.loginUser(new LoginRequest("nobody@test.com", "x")))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    void registerHashesOffTheCallerThenSaves() {
+        String email = "register-" + System.nanoTime() + "@test.com";
+
+        AtomicReference<String> writer = new AtomicReference<>();
+        doAnswer(inv -> {
+            writer.set(Thread.currentThread().getName());
+            return passThrough(inv);
+        }).when(userRepository).save(any(User.class));
+
+        CompletableFuture<User> registering = userService.registerUser(new RegisterRequest(email, "hunter22", "A", "B"));
+        User user = registering.join();
+
+        // Hashed on the pool, saved somewhere else so a slow db can't eat hashing slots
+        assertThat(writer.get()).isNotNull()
+                .doesNotStartWith("password-hasher-")
+                .isNotEqualTo(Thread.currentThread().getName());
+
+        assertThat(userRepository.findById(user.getId()).orElseThrow().getPassword()).startsWith("$2a$05$");
+        assertThat(userService.loginUser(new LoginRequest(email, "hunter22")).join()).isNotBlank();
+        // Duplicate is caught before any hashing
+        assertThatThrownBy(() -> userService.registerUser(new RegisterRequest(email, "other", "A", "B")))
+                .isInstanceOf(EmailAlreadyExistsException.class);
+    }
+
+    /**
+     * The repository is a JDK proxy, so the spy delegates instead of calling a real method
+     */
+    private Object passThrough(InvocationOnMock inv) throws Throwable {
+        return mockingDetails(userRepository).getMockCreationSettings().getDefaultAnswer().answer(inv);
+    }
+}
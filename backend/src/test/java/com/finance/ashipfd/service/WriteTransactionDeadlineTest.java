@@ -0,0 +1,101 @@
+package com.finance.ashipfd.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Listener on a real transaction manager, with a 1s @Transactional-style timeout
+ */
+class WriteTransactionDeadlineTest {
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate writes;
+    private TransactionTemplate untimedWrites;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:deadline-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE rows_written (id INT)");
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(new WriteTransactionDeadline());
+        writes = new TransactionTemplate(transactionManager);
+        writes.setTimeout(1);
+        untimedWrites = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+        reads.setTimeout(1);
+    }
+
+    @Test
+    void writeCommittingInsideTheLimitGoesThrough() {
+        writes.executeWithoutResult(status -> jdbc.update("INSERT INTO rows_written VALUES (1)"));
+
+        assertThat(count()).isEqualTo(1);
+    }
+
+    @Test
+    void writeStillOpenPastTheLimitRollsBack() {
+        assertThatThrownBy(() -> writes.executeWithoutResult(status -> {
+            jdbc.update("INSERT INTO rows_written VALUES (1)");
+            sleep(1200);
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void writesWithoutATimeoutAreNotCapped() {
+        // Maintenance (tombstone purge, rollup rebuild) doesn't stamp updated_at
+        untimedWrites.executeWithoutResult(status -> {
+            jdbc.update("INSERT INTO rows_written VALUES (1)");
+            sleep(1200);
+        });
+
+        assertThat(count()).isEqualTo(1);
+    }
+
+    @Test
+    void readOnlyTransactionsAreNotCapped() {
+        Integer seen = reads.execute(status -> {
+            int rows = count();
+            sleep(1200);
+            return rows;
+        });
+
+        assertThat(seen).isZero();
+    }
+
+    @Test
+    void syncOverlapMustOutlastTheWriteLimit() {
+        assertThatThrownBy(() -> new SyncService(null, null, null, null,
+                WriteTransactionDeadline.LIMIT, Duration.ofDays(30)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sync.overlap");
+    }
+
+    private int count() {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM rows_written", Integer.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.finance.ashipfd.support;
+
+import com.finance.ashipfd.config.QueryCounter;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assert exactly how many SQL statements one call runs
+ *
+ * Counts come from QueryCountingDataSource, so the call must do its own
+ * transaction(s) - inside a test-managed @Transactional nothing is flushed
+ * and the persistence context hides lazy loads. Sequence fetches are left
+ * out (pooled ids, one fetch per 50 inserts)
+ *
+ * EXAMPLE:
+ * TransactionResponse t = assertStatements(1, () -> transactionService.getTransactionById(id, userId));
+ * assertStatements(3, () -> transactionService.deleteTransaction(id, userId));
+ *
+ * Failure message lists the SQL that ran, so an N+1 is obvious
+ */
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static <T> T assertStatements(int expected, Supplier<T> call) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            T result = call.get();
+            check(expected, scope);
+            return result;
+        }
+    }
+
+    public static void assertStatements(int expected, Runnable call) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            call.run();
+            check(expected, scope);
+        }
+    }
+
+    /**
+     * Statements a call runs (minus sequence fetches), for when the exact number
+     * depends on data the test doesn't control
+     */
+    public static int countStatements(Runnable call) {
+        try (QueryCounter.Scope scope = QueryCounter.open()) {
+            call.run();
+            return counted(scope);
+        }
+    }
+
+    private static void check(int expected, QueryCounter.Scope scope) {
+        assertThat(counted(scope))
+                .as("SQL statements, got %s:%n%s", scope.summary(), String.join("\n", scope.getSql()))
+                .isEqualTo(expected);
+    }
+
+    private static int counted(QueryCounter.Scope scope) {
+        return scope.getTotal() - scope.get(QueryCounter.Kind.SEQUENCE);
+    }
+}